@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.artifact;
+
+import java.util.Map;
+
+/**
+ * The group id, artifact id, classifier, extension and properties of an artifact, shared by a {@link DefaultArtifact}
+ * and the artifacts derived from it by {@link DefaultArtifact#setVersion(String)} and
+ * {@link DefaultArtifact#setFile(java.io.File)}, which differ in version and file only. Artifacts created by the
+ * constructors of {@link DefaultArtifact} get coordinates of their own: canonicalizing equal artifacts is up to the
+ * callers that need it, like the data pool of the dependency collection.
+ */
+final class ArtifactCoordinates {
+    final String groupId;
+
+    final String artifactId;
+
+    final String classifier;
+
+    final String extension;
+
+    /**
+     * The read-only properties, never {@code null}.
+     */
+    final Map<String, String> properties;
+
+    /**
+     * @param properties The read-only properties, must not be {@code null}.
+     */
+    ArtifactCoordinates(
+            String groupId, String artifactId, String classifier, String extension, Map<String, String> properties) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.classifier = classifier;
+        this.extension = extension;
+        this.properties = properties;
+    }
+}
@@ -22,31 +22,25 @@ import java.io.File;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * A simple artifact. <em>Note:</em> Instances of this class are immutable and the exposed mutators return new objects
- * rather than changing the current instance.
+ * rather than changing the current instance. Artifacts only differing by version or file share their other
+ * coordinates and their properties.
  */
 public final class DefaultArtifact extends AbstractArtifact {
     private static final Pattern COORDINATE_PATTERN =
             Pattern.compile("([^: ]+):([^: ]+)(:([^: ]*)(:([^: ]+))?)?:([^: ]+)");
 
-    private final String groupId;
-
-    private final String artifactId;
+    private final ArtifactCoordinates coordinates;
 
     private final String version;
 
-    private final String classifier;
-
-    private final String extension;
-
     private final File file;
 
-    private final Map<String, String> properties;
-
     /**
      * Creates a new artifact with the specified coordinates. If not specified in the artifact coordinates, the
      * artifact's extension defaults to {@code jar} and classifier to an empty string.
@@ -78,13 +72,10 @@ public final class DefaultArtifact extends AbstractArtifact {
             throw new IllegalArgumentException("Bad artifact coordinates " + coords
                     + ", expected format is <groupId>:<artifactId>[:<extension>[:<classifier>]]:<version>");
         }
-        groupId = m.group(1);
-        artifactId = m.group(2);
-        extension = get(m.group(4), "jar");
-        classifier = get(m.group(6), "");
+        coordinates = new ArtifactCoordinates(
+                m.group(1), m.group(2), get(m.group(6), ""), get(m.group(4), "jar"), copyProperties(properties));
         version = m.group(7);
         file = null;
-        this.properties = copyProperties(properties);
     }
 
     private static String get(String value, String defaultValue) {
@@ -159,28 +150,31 @@ public final class DefaultArtifact extends AbstractArtifact {
             String version,
             Map<String, String> properties,
             ArtifactType type) {
-        this.groupId = emptify(groupId);
-        this.artifactId = emptify(artifactId);
-        if (classifier != null || type == null) {
-            this.classifier = emptify(classifier);
-        } else {
-            this.classifier = emptify(type.getClassifier());
+        if (classifier == null && type != null) {
+            classifier = type.getClassifier();
         }
-        if (extension != null || type == null) {
-            this.extension = emptify(extension);
-        } else {
-            this.extension = emptify(type.getExtension());
+        if (extension == null && type != null) {
+            extension = type.getExtension();
         }
+        this.coordinates = new ArtifactCoordinates(
+                emptify(groupId),
+                emptify(artifactId),
+                emptify(classifier),
+                emptify(extension),
+                merge(properties, type));
         this.version = emptify(version);
         this.file = null;
-        this.properties = merge(properties, (type != null) ? type.getProperties() : null);
     }
 
-    private static Map<String, String> merge(Map<String, String> dominant, Map<String, String> recessive) {
+    private static Map<String, String> merge(Map<String, String> dominant, ArtifactType type) {
+        Map<String, String> recessive = (type != null) ? type.getProperties() : null;
         Map<String, String> properties;
 
         if ((dominant == null || dominant.isEmpty()) && (recessive == null || recessive.isEmpty())) {
             properties = Collections.emptyMap();
+        } else if ((dominant == null || dominant.isEmpty()) && type instanceof DefaultArtifactType) {
+            // the properties of the default type are read-only already, share them
+            properties = recessive;
         } else {
             properties = new HashMap<>();
             if (recessive != null) {
@@ -215,13 +209,14 @@ public final class DefaultArtifact extends AbstractArtifact {
             String version,
             Map<String, String> properties,
             File file) {
-        this.groupId = emptify(groupId);
-        this.artifactId = emptify(artifactId);
-        this.classifier = emptify(classifier);
-        this.extension = emptify(extension);
+        this.coordinates = new ArtifactCoordinates(
+                emptify(groupId),
+                emptify(artifactId),
+                emptify(classifier),
+                emptify(extension),
+                copyProperties(properties));
         this.version = emptify(version);
         this.file = file;
-        this.properties = copyProperties(properties);
     }
 
     DefaultArtifact(
@@ -233,13 +228,16 @@ public final class DefaultArtifact extends AbstractArtifact {
             File file,
             Map<String, String> properties) {
         // NOTE: This constructor assumes immutability of the provided properties, for internal use only
-        this.groupId = emptify(groupId);
-        this.artifactId = emptify(artifactId);
-        this.classifier = emptify(classifier);
-        this.extension = emptify(extension);
+        this.coordinates = new ArtifactCoordinates(
+                emptify(groupId), emptify(artifactId), emptify(classifier), emptify(extension), properties);
+        this.version = emptify(version);
+        this.file = file;
+    }
+
+    private DefaultArtifact(ArtifactCoordinates coordinates, String version, File file) {
+        this.coordinates = coordinates;
         this.version = emptify(version);
         this.file = file;
-        this.properties = properties;
     }
 
     private static String emptify(String str) {
@@ -247,11 +245,11 @@ public final class DefaultArtifact extends AbstractArtifact {
     }
 
     public String getGroupId() {
-        return groupId;
+        return coordinates.groupId;
     }
 
     public String getArtifactId() {
-        return artifactId;
+        return coordinates.artifactId;
     }
 
     public String getVersion() {
@@ -259,11 +257,11 @@ public final class DefaultArtifact extends AbstractArtifact {
     }
 
     public String getClassifier() {
-        return classifier;
+        return coordinates.classifier;
     }
 
     public String getExtension() {
-        return extension;
+        return coordinates.extension;
     }
 
     public File getFile() {
@@ -271,6 +269,22 @@ public final class DefaultArtifact extends AbstractArtifact {
     }
 
     public Map<String, String> getProperties() {
-        return properties;
+        return coordinates.properties;
+    }
+
+    @Override
+    public Artifact setVersion(String version) {
+        if (this.version.equals(version) || (version == null && this.version.isEmpty())) {
+            return this;
+        }
+        return new DefaultArtifact(coordinates, version, file);
+    }
+
+    @Override
+    public Artifact setFile(File file) {
+        if (Objects.equals(this.file, file)) {
+            return this;
+        }
+        return new DefaultArtifact(coordinates, version, file);
     }
 }
@@ -21,6 +21,7 @@ package org.eclipse.aether.collection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.graph.DependencyCycle;
@@ -43,6 +44,8 @@ public final class CollectResult {
 
     private DependencyNode root;
 
+    private Map<String, Object> stats;
+
     /**
      * Creates a new result for the specified request.
      *
@@ -52,6 +55,7 @@ public final class CollectResult {
         this.request = requireNonNull(request, "dependency collection request cannot be null");
         exceptions = Collections.emptyList();
         cycles = Collections.emptyList();
+        stats = Collections.emptyMap();
     }
 
     /**
@@ -133,6 +137,33 @@ public final class CollectResult {
         return this;
     }
 
+    /**
+     * Gets the statistics of the collection, like counters and timers (in nanoseconds) of the collection phases and
+     * of the graph transformation. The keys are implementation specific and are meant for diagnostic purposes only.
+     *
+     * @return The statistics, never {@code null}.
+     * @since 1.9.9
+     */
+    public Map<String, Object> getStats() {
+        return stats;
+    }
+
+    /**
+     * Sets the statistics of the collection.
+     *
+     * @param stats The statistics, may be {@code null}.
+     * @return This result for chaining, never {@code null}.
+     * @since 1.9.9
+     */
+    public CollectResult setStats(Map<String, Object> stats) {
+        if (stats == null) {
+            this.stats = Collections.emptyMap();
+        } else {
+            this.stats = stats;
+        }
+        return this;
+    }
+
     @Override
     public String toString() {
         return String.valueOf(getRoot());
@@ -39,13 +39,15 @@ public final class DefaultDependencyNode implements DependencyNode {
 
     private List<DependencyNode> children;
 
-    private Dependency dependency;
-
-    private Artifact artifact;
-
-    private List<? extends Artifact> relocations;
+    /**
+     * The dependency of the node or, for a root node without dependency, the artifact labelling it.
+     */
+    private Object label;
 
-    private Collection<? extends Artifact> aliases;
+    /**
+     * The rarely present relocations and aliases, {@code null} if the node has none.
+     */
+    private Redirections redirections;
 
     private VersionConstraint versionConstraint;
 
@@ -65,11 +67,8 @@ public final class DefaultDependencyNode implements DependencyNode {
      * @param dependency The dependency associated with this node, may be {@code null} for a root node.
      */
     public DefaultDependencyNode(Dependency dependency) {
-        this.dependency = dependency;
-        artifact = (dependency != null) ? dependency.getArtifact() : null;
         children = new ArrayList<>(0);
-        aliases = Collections.emptyList();
-        relocations = Collections.emptyList();
+        label = dependency;
         repositories = Collections.emptyList();
         context = "";
         data = Collections.emptyMap();
@@ -83,10 +82,8 @@ public final class DefaultDependencyNode implements DependencyNode {
      * @param artifact The artifact to use as label for this node, may be {@code null}.
      */
     public DefaultDependencyNode(Artifact artifact) {
-        this.artifact = artifact;
         children = new ArrayList<>(0);
-        aliases = Collections.emptyList();
-        relocations = Collections.emptyList();
+        label = artifact;
         repositories = Collections.emptyList();
         context = "";
         data = Collections.emptyMap();
@@ -99,9 +96,9 @@ public final class DefaultDependencyNode implements DependencyNode {
      * @param node The node to copy, must not be {@code null}.
      */
     public DefaultDependencyNode(DependencyNode node) {
-        dependency = node.getDependency();
-        artifact = node.getArtifact();
         children = new ArrayList<>(0);
+        Dependency dependency = node.getDependency();
+        label = (dependency != null) ? dependency : node.getArtifact();
         setAliases(node.getAliases());
         setRequestContext(node.getRequestContext());
         setManagedBits(node.getManagedBits());
@@ -126,23 +123,26 @@ public final class DefaultDependencyNode implements DependencyNode {
     }
 
     public Dependency getDependency() {
-        return dependency;
+        return (label instanceof Dependency) ? (Dependency) label : null;
     }
 
     public Artifact getArtifact() {
-        return artifact;
+        return (label instanceof Dependency) ? ((Dependency) label).getArtifact() : (Artifact) label;
     }
 
     public void setArtifact(Artifact artifact) {
-        if (dependency == null) {
+        label = requireDependency().setArtifact(artifact);
+    }
+
+    private Dependency requireDependency() {
+        if (!(label instanceof Dependency)) {
             throw new IllegalStateException("node does not have a dependency");
         }
-        dependency = dependency.setArtifact(artifact);
-        this.artifact = dependency.getArtifact();
+        return (Dependency) label;
     }
 
     public List<? extends Artifact> getRelocations() {
-        return relocations;
+        return (redirections != null) ? redirections.relocations : Collections.<Artifact>emptyList();
     }
 
     /**
@@ -151,15 +151,11 @@ public final class DefaultDependencyNode implements DependencyNode {
      * @param relocations The sequence of relocations, may be {@code null}.
      */
     public void setRelocations(List<? extends Artifact> relocations) {
-        if (relocations == null || relocations.isEmpty()) {
-            this.relocations = Collections.emptyList();
-        } else {
-            this.relocations = relocations;
-        }
+        redirections = Redirections.of(relocations, getAliases());
     }
 
     public Collection<? extends Artifact> getAliases() {
-        return aliases;
+        return (redirections != null) ? redirections.aliases : Collections.<Artifact>emptyList();
     }
 
     /**
@@ -168,11 +164,7 @@ public final class DefaultDependencyNode implements DependencyNode {
      * @param aliases The known aliases, may be {@code null}.
      */
     public void setAliases(Collection<? extends Artifact> aliases) {
-        if (aliases == null || aliases.isEmpty()) {
-            this.aliases = Collections.emptyList();
-        } else {
-            this.aliases = aliases;
-        }
+        redirections = Redirections.of(getRelocations(), aliases);
     }
 
     public VersionConstraint getVersionConstraint() {
@@ -202,17 +194,11 @@ public final class DefaultDependencyNode implements DependencyNode {
     }
 
     public void setScope(String scope) {
-        if (dependency == null) {
-            throw new IllegalStateException("node does not have a dependency");
-        }
-        dependency = dependency.setScope(scope);
+        label = requireDependency().setScope(scope);
     }
 
     public void setOptional(Boolean optional) {
-        if (dependency == null) {
-            throw new IllegalStateException("node does not have a dependency");
-        }
-        dependency = dependency.setOptional(optional);
+        label = requireDependency().setOptional(optional);
     }
 
     public int getManagedBits() {
@@ -305,4 +291,29 @@ public final class DefaultDependencyNode implements DependencyNode {
         }
         return dep.toString();
     }
+
+    /**
+     * The relocations and aliases of a node, kept apart as most nodes have none.
+     */
+    private static final class Redirections {
+        private final List<? extends Artifact> relocations;
+
+        private final Collection<? extends Artifact> aliases;
+
+        private Redirections(List<? extends Artifact> relocations, Collection<? extends Artifact> aliases) {
+            this.relocations = relocations;
+            this.aliases = aliases;
+        }
+
+        static Redirections of(List<? extends Artifact> relocations, Collection<? extends Artifact> aliases) {
+            boolean noRelocations = relocations == null || relocations.isEmpty();
+            boolean noAliases = aliases == null || aliases.isEmpty();
+            if (noRelocations && noAliases) {
+                return null;
+            }
+            return new Redirections(
+                    noRelocations ? Collections.<Artifact>emptyList() : relocations,
+                    noAliases ? Collections.<Artifact>emptyList() : aliases);
+        }
+    }
 }
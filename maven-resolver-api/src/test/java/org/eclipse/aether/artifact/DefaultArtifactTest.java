@@ -164,6 +164,22 @@ public class DefaultArtifactTest {
         assertEquals("value2", a.getProperty("key", null));
     }
 
+    @Test
+    public void testSharedCoordinates() {
+        DefaultArtifactType type = new DefaultArtifactType("typeId", "typeExt", "typeCls", "typeLang", true, true);
+
+        Artifact a = new DefaultArtifact("gid", "aid", null, null, "1", null, type);
+        assertSame(type.getProperties(), a.getProperties());
+
+        Artifact b = new DefaultArtifact(
+                "gid", "aid", "typeCls", "typeExt", "2", new HashMap<>(a.getProperties()), (File) null);
+        assertEquals(a.getProperties(), b.getProperties());
+        assertSame(a.getProperties(), a.setVersion("3").getProperties());
+        assertSame(a.getProperties(), a.setFile(new File("file")).getProperties());
+        assertEquals("3", a.setVersion("3").getVersion());
+        assertEquals(a, b.setVersion("1"));
+    }
+
     @Test
     public void testIsSnapshot() {
         Artifact a = new DefaultArtifact("gid:aid:ext:cls:1.0");
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.graph;
+
+import java.util.Collections;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ */
+public class DefaultDependencyNodeTest {
+
+    @Test
+    public void testRootNode() {
+        Artifact artifact = new DefaultArtifact("gid:aid:ver");
+        DefaultDependencyNode node = new DefaultDependencyNode(artifact);
+        assertNull(node.getDependency());
+        assertSame(artifact, node.getArtifact());
+
+        try {
+            node.setScope("test");
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDependencyNode() {
+        Dependency dependency = new Dependency(new DefaultArtifact("gid:aid:ver"), "compile");
+        DefaultDependencyNode node = new DefaultDependencyNode(dependency);
+        assertSame(dependency.getArtifact(), node.getArtifact());
+
+        node.setArtifact(new DefaultArtifact("gid:aid:ver2"));
+        node.setScope("test");
+        assertEquals("ver2", node.getArtifact().getVersion());
+        assertEquals("ver2", node.getDependency().getArtifact().getVersion());
+        assertEquals("test", node.getDependency().getScope());
+    }
+
+    @Test
+    public void testRelocationsAndAliases() {
+        Artifact relocation = new DefaultArtifact("gid:old:ver");
+        Artifact alias = new DefaultArtifact("gid:alias:ver");
+        DefaultDependencyNode node = new DefaultDependencyNode(new DefaultArtifact("gid:aid:ver"));
+        assertTrue(node.getRelocations().isEmpty());
+        assertTrue(node.getAliases().isEmpty());
+
+        node.setRelocations(Collections.singletonList(relocation));
+        node.setAliases(Collections.singletonList(alias));
+        assertEquals(Collections.singletonList(relocation), node.getRelocations());
+        assertEquals(Collections.singletonList(alias), node.getAliases());
+
+        node.setRelocations(null);
+        assertTrue(node.getRelocations().isEmpty());
+        assertEquals(Collections.singletonList(alias), node.getAliases());
+
+        DefaultDependencyNode copy = new DefaultDependencyNode(node);
+        assertEquals(Collections.singletonList(alias), copy.getAliases());
+    }
+
+    @Test
+    public void testChildrenModifiable() {
+        DefaultDependencyNode node = new DefaultDependencyNode(new DefaultArtifact("gid:aid:ver"));
+        DefaultDependencyNode child = new DefaultDependencyNode(new DefaultArtifact("gid:child:ver"));
+        node.getChildren().add(child);
+        assertEquals(Collections.singletonList(child), node.getChildren());
+
+        node.setChildren(null);
+        assertTrue(node.getChildren().isEmpty());
+        node.getChildren().add(child);
+        assertEquals(1, node.getChildren().size());
+    }
+}
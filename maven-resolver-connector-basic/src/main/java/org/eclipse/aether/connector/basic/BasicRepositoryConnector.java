@@ -37,6 +37,7 @@ import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.RequestTrace;
 import org.eclipse.aether.metadata.Metadata;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.concurrency.ExecutorProvider;
 import org.eclipse.aether.spi.connector.ArtifactDownload;
 import org.eclipse.aether.spi.connector.ArtifactUpload;
 import org.eclipse.aether.spi.connector.MetadataDownload;
@@ -106,10 +107,13 @@ final class BasicRepositoryConnector implements RepositoryConnector {
 
     private final boolean persistedChecksums;
 
+    private final ExecutorProvider executorProvider;
+
     private Executor executor;
 
     private final AtomicBoolean closed;
 
+    @SuppressWarnings("checkstyle:parameternumber")
     BasicRepositoryConnector(
             RepositorySystemSession session,
             RemoteRepository repository,
@@ -117,7 +121,8 @@ final class BasicRepositoryConnector implements RepositoryConnector {
             RepositoryLayoutProvider layoutProvider,
             ChecksumPolicyProvider checksumPolicyProvider,
             FileProcessor fileProcessor,
-            Map<String, ProvidedChecksumsSource> providedChecksumsSources)
+            Map<String, ProvidedChecksumsSource> providedChecksumsSources,
+            ExecutorProvider executorProvider)
             throws NoRepositoryConnectorException {
         try {
             layout = layoutProvider.newRepositoryLayout(session, repository);
@@ -135,6 +140,7 @@ final class BasicRepositoryConnector implements RepositoryConnector {
         this.repository = repository;
         this.fileProcessor = fileProcessor;
         this.providedChecksumsSources = providedChecksumsSources;
+        this.executorProvider = executorProvider;
         this.closed = new AtomicBoolean(false);
 
         maxThreads = ExecutorUtils.threadCount(session, 5, CONFIG_PROP_THREADS, "maven.artifact.threads");
@@ -155,8 +161,11 @@ final class BasicRepositoryConnector implements RepositoryConnector {
             return ExecutorUtils.DIRECT_EXECUTOR;
         }
         if (executor == null) {
-            executor =
-                    ExecutorUtils.threadPool(maxThreads, getClass().getSimpleName() + '-' + repository.getHost() + '-');
+            executor = executorProvider != null
+                    ? executorProvider.getExecutor(
+                            session, getClass().getSimpleName() + '-' + repository.getHost(), maxThreads)
+                    : ExecutorUtils.threadPool(
+                            maxThreads, getClass().getSimpleName() + '-' + repository.getHost() + '-');
         }
         return executor;
     }
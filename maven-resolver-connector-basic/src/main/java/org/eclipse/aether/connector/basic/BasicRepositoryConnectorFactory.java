@@ -26,6 +26,7 @@ import java.util.Map;
 
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.concurrency.ExecutorProvider;
 import org.eclipse.aether.spi.connector.RepositoryConnector;
 import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
 import org.eclipse.aether.spi.connector.checksum.ChecksumPolicyProvider;
@@ -56,6 +57,8 @@ public final class BasicRepositoryConnectorFactory implements RepositoryConnecto
 
     private Map<String, ProvidedChecksumsSource> providedChecksumsSources;
 
+    private ExecutorProvider executorProvider;
+
     private float priority;
 
     /**
@@ -73,12 +76,14 @@ public final class BasicRepositoryConnectorFactory implements RepositoryConnecto
             RepositoryLayoutProvider layoutProvider,
             ChecksumPolicyProvider checksumPolicyProvider,
             FileProcessor fileProcessor,
-            Map<String, ProvidedChecksumsSource> providedChecksumsSources) {
+            Map<String, ProvidedChecksumsSource> providedChecksumsSources,
+            ExecutorProvider executorProvider) {
         setTransporterProvider(transporterProvider);
         setRepositoryLayoutProvider(layoutProvider);
         setChecksumPolicyProvider(checksumPolicyProvider);
         setFileProcessor(fileProcessor);
         setProvidedChecksumSources(providedChecksumsSources);
+        setExecutorProvider(executorProvider);
     }
 
     public void initService(ServiceLocator locator) {
@@ -87,6 +92,7 @@ public final class BasicRepositoryConnectorFactory implements RepositoryConnecto
         setChecksumPolicyProvider(locator.getService(ChecksumPolicyProvider.class));
         setFileProcessor(locator.getService(FileProcessor.class));
         setProvidedChecksumSources(Collections.emptyMap());
+        this.executorProvider = locator.getService(ExecutorProvider.class);
     }
 
     /**
@@ -147,6 +153,18 @@ public final class BasicRepositoryConnectorFactory implements RepositoryConnecto
         return this;
     }
 
+    /**
+     * Sets the executor provider to use for this component. If not set, each connector creates its own thread pool.
+     *
+     * @param executorProvider The executor provider to use, must not be {@code null}.
+     * @return This component for chaining, never {@code null}.
+     * @since 1.9.9
+     */
+    public BasicRepositoryConnectorFactory setExecutorProvider(ExecutorProvider executorProvider) {
+        this.executorProvider = requireNonNull(executorProvider, "executor provider cannot be null");
+        return this;
+    }
+
     public float getPriority() {
         return priority;
     }
@@ -174,6 +192,7 @@ public final class BasicRepositoryConnectorFactory implements RepositoryConnecto
                 layoutProvider,
                 checksumPolicyProvider,
                 fileProcessor,
-                providedChecksumsSources);
+                providedChecksumsSources,
+                executorProvider);
     }
 }
@@ -53,4 +53,26 @@ public interface DependencyCollector {
      */
     CollectResult collectDependencies(RepositorySystemSession session, CollectRequest request)
             throws DependencyCollectionException;
+
+    /**
+     * Collects the transitive dependencies of some artifacts like
+     * {@link #collectDependencies(RepositorySystemSession, CollectRequest)} does, but may reuse unchanged subgraphs of
+     * passed in previous collection result. Implementations not supporting this perform full collection.
+     * <p>
+     * This is an extension of the collector only, not exposed by {@link RepositorySystem}: integrations wanting to
+     * reuse previous results look up the collector component directly. To be reusable, the previous result must have
+     * been produced with session configuration property {@code "aether.dependencyCollector.incremental"} enabled.
+     *
+     * @param session The repository session, must not be {@code null}.
+     * @param request The collection request, must not be {@code null}.
+     * @param previous The previous collection result, may be {@code null}.
+     * @return The collection result, never {@code null}.
+     * @throws DependencyCollectionException If the dependency tree could not be built.
+     * @since 1.9.9
+     */
+    default CollectResult collectDependencies(
+            RepositorySystemSession session, CollectRequest request, CollectResult previous)
+            throws DependencyCollectionException {
+        return collectDependencies(session, request);
+    }
 }
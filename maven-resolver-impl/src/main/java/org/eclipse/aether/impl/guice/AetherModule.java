@@ -49,6 +49,7 @@ import org.eclipse.aether.impl.UpdatePolicyAnalyzer;
 import org.eclipse.aether.internal.impl.DefaultArtifactResolver;
 import org.eclipse.aether.internal.impl.DefaultChecksumPolicyProvider;
 import org.eclipse.aether.internal.impl.DefaultDeployer;
+import org.eclipse.aether.internal.impl.DefaultExecutorProvider;
 import org.eclipse.aether.internal.impl.DefaultFileProcessor;
 import org.eclipse.aether.internal.impl.DefaultInstaller;
 import org.eclipse.aether.internal.impl.DefaultLocalPathComposer;
@@ -105,6 +106,7 @@ import org.eclipse.aether.named.providers.LocalReadWriteLockNamedLockFactory;
 import org.eclipse.aether.named.providers.LocalSemaphoreNamedLockFactory;
 import org.eclipse.aether.named.providers.NoopNamedLockFactory;
 import org.eclipse.aether.spi.checksums.TrustedChecksumsSource;
+import org.eclipse.aether.spi.concurrency.ExecutorProvider;
 import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactory;
 import org.eclipse.aether.spi.connector.checksum.ChecksumAlgorithmFactorySelector;
 import org.eclipse.aether.spi.connector.checksum.ChecksumPolicyProvider;
@@ -263,6 +265,8 @@ public class AetherModule extends AbstractModule {
                 .to(DefaultRepositorySystemLifecycle.class)
                 .in(Singleton.class);
 
+        bind(ExecutorProvider.class).to(DefaultExecutorProvider.class).in(Singleton.class);
+
         bind(NamedLockFactoryAdapterFactory.class)
                 .to(NamedLockFactoryAdapterFactoryImpl.class)
                 .in(Singleton.class);
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.RequestTrace;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.internal.impl.collect.CollectedNodeListener;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.util.concurrency.ExecutorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link CollectedNodeListener} that starts resolving artifacts of collected nodes while the collection is still
+ * ongoing. It merely "warms up" the local repository: the results of prefetching are not used, as after collection
+ * the artifacts of the final graph are resolved as usual, but those are then mostly already present locally.
+ * Prefetches of nodes that did not make it into final graph are cancelled, if they did not start yet.
+ *
+ * @since 1.9.9
+ */
+final class ArtifactPrefetcher implements CollectedNodeListener, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactPrefetcher.class);
+
+    private final RepositorySystemSession session;
+
+    private final ArtifactResolver artifactResolver;
+
+    private final DependencyFilter filter;
+
+    private final RequestTrace trace;
+
+    private final Executor executor;
+
+    private final Map<Artifact, CompletableFuture<Void>> prefetches;
+
+    private final AtomicBoolean closed;
+
+    ArtifactPrefetcher(
+            RepositorySystemSession session,
+            ArtifactResolver artifactResolver,
+            DependencyFilter filter,
+            RequestTrace trace,
+            Executor executor) {
+        this.session = session;
+        this.artifactResolver = artifactResolver;
+        this.filter = filter;
+        this.trace = trace;
+        this.executor = executor;
+        this.prefetches = new ConcurrentHashMap<>(256);
+        this.closed = new AtomicBoolean(false);
+    }
+
+    /**
+     * Returns a session to be used for collection, that carries this instance as {@link CollectedNodeListener}.
+     */
+    RepositorySystemSession collectionSession() {
+        DefaultRepositorySystemSession collectionSession = new DefaultRepositorySystemSession(session);
+        collectionSession.setConfigProperty(CollectedNodeListener.CONFIG_PROP_LISTENER, this);
+        return collectionSession;
+    }
+
+    @Override
+    public void nodeCollected(DependencyNode node, List<DependencyNode> parents) {
+        if (closed.get() || node.getDependency() == null) {
+            return;
+        }
+        if (filter != null && !filter.accept(node, reverse(parents))) {
+            return;
+        }
+        Artifact artifact = node.getArtifact();
+        if (!prefetches.containsKey(artifact)) {
+            ArtifactRequest request =
+                    new ArtifactRequest(artifact, node.getRepositories(), node.getRequestContext()).setTrace(trace);
+            prefetches.computeIfAbsent(artifact, a -> CompletableFuture.runAsync(() -> prefetch(request), executor));
+        }
+    }
+
+    private void prefetch(ArtifactRequest request) {
+        try {
+            artifactResolver.resolveArtifact(session, request);
+        } catch (ArtifactResolutionException | RuntimeException e) {
+            // prefetching is best effort: the failure will be reported (or retried) by the resolution of the final
+            // graph, if the artifact is part of it
+            LOGGER.debug("Failed to prefetch artifact {}", request.getArtifact(), e);
+        }
+    }
+
+    /**
+     * Cancels the prefetches not started yet and not being part of passed in requests, and waits for all remaining
+     * prefetches to finish. After this method returns, this instance ignores any further collected nodes.
+     */
+    void await(Collection<ArtifactRequest> requests) {
+        if (closed.compareAndSet(false, true)) {
+            Set<Artifact> needed = new HashSet<>(requests.size());
+            for (ArtifactRequest request : requests) {
+                needed.add(request.getArtifact());
+            }
+            for (Map.Entry<Artifact, CompletableFuture<Void>> entry : prefetches.entrySet()) {
+                if (!needed.contains(entry.getKey())) {
+                    entry.getValue().cancel(false);
+                }
+            }
+            try {
+                for (CompletableFuture<Void> prefetch : prefetches.values()) {
+                    try {
+                        prefetch.join();
+                    } catch (CancellationException e) {
+                        // ignore, node was not part of final graph
+                    } catch (CompletionException e) {
+                        // ignore, the regular resolution of the final graph reports the error
+                        LOGGER.debug("Prefetch failed", e);
+                    }
+                }
+            } finally {
+                close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed.set(true);
+        ExecutorUtils.shutdown(executor);
+    }
+
+    private static List<DependencyNode> reverse(List<DependencyNode> parents) {
+        List<DependencyNode> result = new ArrayList<>(parents.size());
+        for (int i = parents.size() - 1; i >= 0; i--) {
+            result.add(parents.get(i));
+        }
+        return result;
+    }
+}
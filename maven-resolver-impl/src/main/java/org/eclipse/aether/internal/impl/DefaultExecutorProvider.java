@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.impl.RepositorySystemLifecycle;
+import org.eclipse.aether.spi.concurrency.ExecutorProvider;
+import org.eclipse.aether.spi.locator.Service;
+import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.concurrency.ExecutorUtils;
+import org.eclipse.aether.util.concurrency.WorkerThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of {@link ExecutorProvider}: a single, unbounded, caching thread pool is shared by all
+ * executors, and each executor limits the count of its own tasks running at once. As the shared pool is not bounded,
+ * executors cannot starve each other, even if tasks of one block on tasks of the other. Idle threads are released
+ * after a while, and all of them once the repository system is shut down.
+ * <p>
+ * If virtual threads are enabled and supported by the Java runtime, every task runs in its own virtual thread instead,
+ * and concurrency limits shared by key are enforced by semaphores.
+ *
+ * @since 1.9.9
+ */
+@Singleton
+@Named
+public final class DefaultExecutorProvider implements ExecutorProvider, Service {
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultExecutorProvider.class);
+
+    private final ThreadPoolExecutor threadPool;
+
+    /**
+     * Factory of virtual threads, {@code null} if not supported by Java runtime.
+     */
+    private final ThreadFactory virtualThreadFactory;
+
+    /**
+     * Shared concurrency limits of virtual thread executors, by key.
+     */
+    private final ConcurrentHashMap<String, Semaphore> permits;
+
+    private final AtomicBoolean virtualThreadsUnsupportedLogged;
+
+    /**
+     * Default ctor for SL.
+     *
+     * @deprecated Will be dropped once SL gone.
+     */
+    @Deprecated
+    public DefaultExecutorProvider() {
+        this(ExecutorUtils.virtualThreadFactory(DefaultExecutorProvider.class.getSimpleName() + "-virtual-"));
+    }
+
+    @Inject
+    public DefaultExecutorProvider(RepositorySystemLifecycle repositorySystemLifecycle) {
+        this(
+                repositorySystemLifecycle,
+                ExecutorUtils.virtualThreadFactory(DefaultExecutorProvider.class.getSimpleName() + "-virtual-"));
+    }
+
+    DefaultExecutorProvider(RepositorySystemLifecycle repositorySystemLifecycle, ThreadFactory virtualThreadFactory) {
+        this(virtualThreadFactory);
+        requireNonNull(repositorySystemLifecycle, "repository system lifecycle cannot be null")
+                .addOnSystemEndedHandler(this::shutdown);
+    }
+
+    private DefaultExecutorProvider(ThreadFactory virtualThreadFactory) {
+        this.threadPool = newThreadPool();
+        this.virtualThreadFactory = virtualThreadFactory;
+        this.permits = new ConcurrentHashMap<>();
+        this.virtualThreadsUnsupportedLogged = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void initService(ServiceLocator locator) {
+        locator.getService(RepositorySystemLifecycle.class).addOnSystemEndedHandler(this::shutdown);
+    }
+
+    private static ThreadPoolExecutor newThreadPool() {
+        return new ThreadPoolExecutor(
+                0,
+                Integer.MAX_VALUE,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new WorkerThreadFactory(DefaultExecutorProvider.class.getSimpleName() + '-'));
+    }
+
+    @Override
+    public Executor getExecutor(RepositorySystemSession session, int maxConcurrency) {
+        requireNonNull(session, "session cannot be null");
+        if (threadPool.isShutdown()) {
+            throw new IllegalStateException("repository system is already shut down");
+        }
+        if (maxConcurrency < 2) {
+            return ExecutorUtils.DIRECT_EXECUTOR;
+        }
+        if (useVirtualThreads(session)) {
+            return new LimitedExecutor(this::startVirtualThread, maxConcurrency);
+        }
+        return new LimitedExecutor(threadPool, maxConcurrency);
+    }
+
+    @Override
+    public Executor getExecutor(RepositorySystemSession session, String permitKey, int maxConcurrency) {
+        requireNonNull(permitKey, "permitKey cannot be null");
+        if (maxConcurrency >= 2 && useVirtualThreads(session)) {
+            if (threadPool.isShutdown()) {
+                throw new IllegalStateException("repository system is already shut down");
+            }
+            Semaphore semaphore = permits.computeIfAbsent(permitKey, k -> new Semaphore(maxConcurrency));
+            return task -> startVirtualThread(() -> {
+                semaphore.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    semaphore.release();
+                }
+            });
+        }
+        return getExecutor(session, maxConcurrency);
+    }
+
+    private boolean useVirtualThreads(RepositorySystemSession session) {
+        if (!ConfigUtils.getBoolean(session, CONFIG_PROP_VIRTUAL_THREADS_DEFAULT, CONFIG_PROP_VIRTUAL_THREADS)) {
+            return false;
+        }
+        if (virtualThreadFactory == null) {
+            if (virtualThreadsUnsupportedLogged.compareAndSet(false, true)) {
+                LOGGER.warn(
+                        "Virtual threads requested but not supported by Java {}, using platform threads",
+                        System.getProperty("java.version"));
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void startVirtualThread(Runnable task) {
+        virtualThreadFactory.newThread(task).start();
+    }
+
+    private void shutdown() {
+        threadPool.shutdown();
+    }
+
+    /**
+     * Executor queueing tasks and running at most given count of them at once on the delegate executor.
+     */
+    static final class LimitedExecutor implements Executor {
+        private static final Logger LOGGER = LoggerFactory.getLogger(LimitedExecutor.class);
+
+        private final Executor delegate;
+
+        private final int maxConcurrency;
+
+        private final Queue<Runnable> tasks;
+
+        private final AtomicInteger running;
+
+        LimitedExecutor(Executor delegate, int maxConcurrency) {
+            this.delegate = delegate;
+            this.maxConcurrency = maxConcurrency;
+            this.tasks = new ConcurrentLinkedQueue<>();
+            this.running = new AtomicInteger(0);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(requireNonNull(task, "task cannot be null"));
+            schedule();
+        }
+
+        private void schedule() {
+            while (!tasks.isEmpty()) {
+                int current = running.get();
+                if (current >= maxConcurrency) {
+                    return;
+                }
+                if (running.compareAndSet(current, current + 1)) {
+                    try {
+                        delegate.execute(this::drain);
+                    } catch (RejectedExecutionException e) {
+                        running.decrementAndGet();
+                        throw e;
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Task {} failed", task, e);
+                    }
+                }
+            } finally {
+                running.decrementAndGet();
+            }
+            // a task may have been queued while we were leaving
+            schedule();
+        }
+    }
+}
@@ -55,6 +55,7 @@ import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.repository.RepositoryPolicy;
 import org.eclipse.aether.resolution.MetadataRequest;
 import org.eclipse.aether.resolution.MetadataResult;
+import org.eclipse.aether.spi.concurrency.ExecutorProvider;
 import org.eclipse.aether.spi.connector.MetadataDownload;
 import org.eclipse.aether.spi.connector.RepositoryConnector;
 import org.eclipse.aether.spi.connector.filter.RemoteRepositoryFilter;
@@ -92,10 +93,13 @@ public class DefaultMetadataResolver implements MetadataResolver, Service {
 
     private RemoteRepositoryFilterManager remoteRepositoryFilterManager;
 
+    private ExecutorProvider executorProvider;
+
     public DefaultMetadataResolver() {
         // enables default constructor
     }
 
+    @SuppressWarnings("checkstyle:parameternumber")
     @Inject
     DefaultMetadataResolver(
             RepositoryEventDispatcher repositoryEventDispatcher,
@@ -104,7 +108,8 @@ public class DefaultMetadataResolver implements MetadataResolver, Service {
             RemoteRepositoryManager remoteRepositoryManager,
             SyncContextFactory syncContextFactory,
             OfflineController offlineController,
-            RemoteRepositoryFilterManager remoteRepositoryFilterManager) {
+            RemoteRepositoryFilterManager remoteRepositoryFilterManager,
+            ExecutorProvider executorProvider) {
         setRepositoryEventDispatcher(repositoryEventDispatcher);
         setUpdateCheckManager(updateCheckManager);
         setRepositoryConnectorProvider(repositoryConnectorProvider);
@@ -112,6 +117,7 @@ public class DefaultMetadataResolver implements MetadataResolver, Service {
         setSyncContextFactory(syncContextFactory);
         setOfflineController(offlineController);
         setRemoteRepositoryFilterManager(remoteRepositoryFilterManager);
+        setExecutorProvider(executorProvider);
     }
 
     public void initService(ServiceLocator locator) {
@@ -122,6 +128,7 @@ public class DefaultMetadataResolver implements MetadataResolver, Service {
         setSyncContextFactory(locator.getService(SyncContextFactory.class));
         setOfflineController(locator.getService(OfflineController.class));
         setRemoteRepositoryFilterManager(locator.getService(RemoteRepositoryFilterManager.class));
+        this.executorProvider = locator.getService(ExecutorProvider.class);
     }
 
     public DefaultMetadataResolver setRepositoryEventDispatcher(RepositoryEventDispatcher repositoryEventDispatcher) {
@@ -165,6 +172,16 @@ public class DefaultMetadataResolver implements MetadataResolver, Service {
         return this;
     }
 
+    /**
+     * Sets the executor provider to use for this component. If not set, a thread pool is created for each resolution.
+     *
+     * @since 1.9.9
+     */
+    public DefaultMetadataResolver setExecutorProvider(ExecutorProvider executorProvider) {
+        this.executorProvider = requireNonNull(executorProvider, "executor provider cannot be null");
+        return this;
+    }
+
     public List<MetadataResult> resolveMetadata(
             RepositorySystemSession session, Collection<? extends MetadataRequest> requests) {
         requireNonNull(session, "session cannot be null");
@@ -339,8 +356,10 @@ public class DefaultMetadataResolver implements MetadataResolver, Service {
 
                 if (!tasks.isEmpty()) {
                     int threads = ExecutorUtils.threadCount(session, 4, CONFIG_PROP_THREADS);
-                    Executor executor = ExecutorUtils.executor(
-                            Math.min(tasks.size(), threads), getClass().getSimpleName() + '-');
+                    Executor executor = executorProvider != null
+                            ? executorProvider.getExecutor(session, Math.min(tasks.size(), threads))
+                            : ExecutorUtils.executor(
+                                    Math.min(tasks.size(), threads), getClass().getSimpleName() + '-');
                     try {
                         RunnableErrorForwarder errorForwarder = new RunnableErrorForwarder();
 
@@ -25,6 +25,7 @@ import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.aether.RepositorySystem;
@@ -77,9 +78,12 @@ import org.eclipse.aether.resolution.VersionRangeResult;
 import org.eclipse.aether.resolution.VersionRequest;
 import org.eclipse.aether.resolution.VersionResolutionException;
 import org.eclipse.aether.resolution.VersionResult;
+import org.eclipse.aether.spi.concurrency.ExecutorProvider;
 import org.eclipse.aether.spi.locator.Service;
 import org.eclipse.aether.spi.locator.ServiceLocator;
 import org.eclipse.aether.spi.synccontext.SyncContextFactory;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.concurrency.ExecutorUtils;
 import org.eclipse.aether.util.graph.visitor.FilteringDependencyVisitor;
 import org.eclipse.aether.util.graph.visitor.TreeDependencyVisitor;
 
@@ -91,6 +95,30 @@ import static java.util.Objects.requireNonNull;
 @Singleton
 @Named
 public class DefaultRepositorySystem implements RepositorySystem, Service {
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store a {@link Boolean} flag controlling whether
+     * {@link #resolveDependencies(RepositorySystemSession, DependencyRequest)} should start resolving artifacts while
+     * dependencies are still being collected. Supported by breadth-first collector only.
+     *
+     * @since 1.9.9
+     */
+    static final String CONFIG_PROP_PIPELINED = "aether.dependencyResolver.pipelined";
+
+    /**
+     * The default value for {@link #CONFIG_PROP_PIPELINED}, {@code false}.
+     *
+     * @since 1.9.9
+     */
+    static final boolean CONFIG_PROP_PIPELINED_DEFAULT = false;
+
+    /**
+     * The count of threads to be used to resolve artifacts while collecting in pipelined mode, default value 5.
+     *
+     * @since 1.9.9
+     */
+    static final String CONFIG_PROP_PIPELINED_THREADS = "aether.dependencyResolver.pipelined.threads";
+
     private final AtomicBoolean shutdown;
 
     private VersionResolver versionResolver;
@@ -117,6 +145,8 @@ public class DefaultRepositorySystem implements RepositorySystem, Service {
 
     private RepositorySystemLifecycle repositorySystemLifecycle;
 
+    private ExecutorProvider executorProvider;
+
     public DefaultRepositorySystem() {
         // enables default constructor
         this.shutdown = new AtomicBoolean(false);
@@ -136,7 +166,8 @@ public class DefaultRepositorySystem implements RepositorySystem, Service {
             LocalRepositoryProvider localRepositoryProvider,
             SyncContextFactory syncContextFactory,
             RemoteRepositoryManager remoteRepositoryManager,
-            RepositorySystemLifecycle repositorySystemLifecycle) {
+            RepositorySystemLifecycle repositorySystemLifecycle,
+            ExecutorProvider executorProvider) {
         this.shutdown = new AtomicBoolean(false);
         setVersionResolver(versionResolver);
         setVersionRangeResolver(versionRangeResolver);
@@ -150,6 +181,7 @@ public class DefaultRepositorySystem implements RepositorySystem, Service {
         setSyncContextFactory(syncContextFactory);
         setRemoteRepositoryManager(remoteRepositoryManager);
         setRepositorySystemLifecycle(repositorySystemLifecycle);
+        setExecutorProvider(executorProvider);
     }
 
     @Override
@@ -166,6 +198,7 @@ public class DefaultRepositorySystem implements RepositorySystem, Service {
         setRemoteRepositoryManager(locator.getService(RemoteRepositoryManager.class));
         setSyncContextFactory(locator.getService(SyncContextFactory.class));
         setRepositorySystemLifecycle(locator.getService(RepositorySystemLifecycle.class));
+        this.executorProvider = locator.getService(ExecutorProvider.class);
     }
 
     /**
@@ -241,6 +274,14 @@ public class DefaultRepositorySystem implements RepositorySystem, Service {
         return this;
     }
 
+    /**
+     * @since 1.9.9
+     */
+    public DefaultRepositorySystem setExecutorProvider(ExecutorProvider executorProvider) {
+        this.executorProvider = requireNonNull(executorProvider, "executor provider cannot be null");
+        return this;
+    }
+
     @Override
     public VersionResult resolveVersion(RepositorySystemSession session, VersionRequest request)
             throws VersionResolutionException {
@@ -318,45 +359,68 @@ public class DefaultRepositorySystem implements RepositorySystem, Service {
         DependencyCollectionException dce = null;
         ArtifactResolutionException are = null;
 
-        if (request.getRoot() != null) {
-            result.setRoot(request.getRoot());
-        } else if (request.getCollectRequest() != null) {
-            CollectResult collectResult;
-            try {
-                request.getCollectRequest().setTrace(trace);
-                collectResult = dependencyCollector.collectDependencies(session, request.getCollectRequest());
-            } catch (DependencyCollectionException e) {
-                dce = e;
-                collectResult = e.getResult();
+        ArtifactPrefetcher prefetcher = null;
+        try {
+            if (request.getRoot() != null) {
+                result.setRoot(request.getRoot());
+            } else if (request.getCollectRequest() != null) {
+                RepositorySystemSession collectSession = session;
+                if (ConfigUtils.getBoolean(session, CONFIG_PROP_PIPELINED_DEFAULT, CONFIG_PROP_PIPELINED)) {
+                    int threads = ExecutorUtils.threadCount(
+                            session, 5, CONFIG_PROP_PIPELINED_THREADS, "maven.artifact.threads");
+                    Executor executor = executorProvider != null
+                            ? executorProvider.getExecutor(session, threads)
+                            : ExecutorUtils.executor(threads, ArtifactPrefetcher.class.getSimpleName() + '-');
+                    prefetcher =
+                            new ArtifactPrefetcher(session, artifactResolver, request.getFilter(), trace, executor);
+                    collectSession = prefetcher.collectionSession();
+                }
+                CollectResult collectResult;
+                try {
+                    request.getCollectRequest().setTrace(trace);
+                    collectResult =
+                            dependencyCollector.collectDependencies(collectSession, request.getCollectRequest());
+                } catch (DependencyCollectionException e) {
+                    dce = e;
+                    collectResult = e.getResult();
+                }
+                result.setRoot(collectResult.getRoot());
+                result.setCycles(collectResult.getCycles());
+                result.setCollectExceptions(collectResult.getExceptions());
+            } else {
+                throw new NullPointerException("dependency node and collect request cannot be null");
             }
-            result.setRoot(collectResult.getRoot());
-            result.setCycles(collectResult.getCycles());
-            result.setCollectExceptions(collectResult.getExceptions());
-        } else {
-            throw new NullPointerException("dependency node and collect request cannot be null");
-        }
 
-        ArtifactRequestBuilder builder = new ArtifactRequestBuilder(trace);
-        DependencyFilter filter = request.getFilter();
-        DependencyVisitor visitor = (filter != null) ? new FilteringDependencyVisitor(builder, filter) : builder;
-        visitor = new TreeDependencyVisitor(visitor);
+            ArtifactRequestBuilder builder = new ArtifactRequestBuilder(trace);
+            DependencyFilter filter = request.getFilter();
+            DependencyVisitor visitor = (filter != null) ? new FilteringDependencyVisitor(builder, filter) : builder;
+            visitor = new TreeDependencyVisitor(visitor);
 
-        if (result.getRoot() != null) {
-            result.getRoot().accept(visitor);
-        }
+            if (result.getRoot() != null) {
+                result.getRoot().accept(visitor);
+            }
 
-        List<ArtifactRequest> requests = builder.getRequests();
+            List<ArtifactRequest> requests = builder.getRequests();
 
-        List<ArtifactResult> results;
-        try {
-            results = artifactResolver.resolveArtifacts(session, requests);
-        } catch (ArtifactResolutionException e) {
-            are = e;
-            results = e.getResults();
+            if (prefetcher != null) {
+                prefetcher.await(requests);
+            }
+
+            List<ArtifactResult> results;
+            try {
+                results = artifactResolver.resolveArtifacts(session, requests);
+            } catch (ArtifactResolutionException e) {
+                are = e;
+                results = e.getResults();
+            }
+            result.setArtifactResults(results);
+        } finally {
+            if (prefetcher != null) {
+                prefetcher.close();
+            }
         }
-        result.setArtifactResults(results);
 
-        updateNodesWithResolvedArtifacts(results);
+        updateNodesWithResolvedArtifacts(result.getArtifactResults());
 
         if (dce != null) {
             throw new DependencyResolutionException(result, dce);
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timers (in nanoseconds) of a single dependency collection. All the methods are thread safe and cheap,
+ * hence collectors record these unconditionally. Timers measure wall time spent in given phase, so in case of
+ * parallel collection their sum may exceed the total collection time.
+ *
+ * @since 1.9.9
+ */
+public final class CollectStats {
+    private final LongAdder descriptorReads = new LongAdder();
+
+    private final LongAdder descriptorReadTime = new LongAdder();
+
+    private final LongAdder rangeResolutions = new LongAdder();
+
+    private final LongAdder rangeResolveTime = new LongAdder();
+
+    private final LongAdder deriveTime = new LongAdder();
+
+    private final LongAdder nodesCreated = new LongAdder();
+
+    private final LongAdder subtreesReused = new LongAdder();
+
+    private final LongAdder nodesSkippedAsDuplicate = new LongAdder();
+
+    private final LongAdder nodesSkippedAsVersionConflict = new LongAdder();
+
+    private final LongAdder nodesForceResolved = new LongAdder();
+
+    private final LongAdder skipperTime = new LongAdder();
+
+    private final LongAdder futureWaitTime = new LongAdder();
+
+    /**
+     * Records an artifact descriptor read, that was not served from the {@link DataPool}.
+     */
+    public void descriptorRead(long nanos) {
+        descriptorReads.increment();
+        descriptorReadTime.add(nanos);
+    }
+
+    /**
+     * Records a version range resolution, that was not served from the {@link DataPool}.
+     */
+    public void rangeResolved(long nanos) {
+        rangeResolutions.increment();
+        rangeResolveTime.add(nanos);
+    }
+
+    /**
+     * Records derivation of child selector, manager, traverser and filter.
+     */
+    public void derived(long nanos) {
+        deriveTime.add(nanos);
+    }
+
+    /**
+     * Records creation of a dependency node.
+     */
+    public void nodeCreated() {
+        nodesCreated.increment();
+    }
+
+    /**
+     * Records reuse of an already collected subtree.
+     */
+    public void subtreeReused() {
+        subtreesReused.increment();
+    }
+
+    /**
+     * Records a node skipped from resolution as duplicate.
+     */
+    public void nodeSkippedAsDuplicate() {
+        nodesSkippedAsDuplicate.increment();
+    }
+
+    /**
+     * Records a node skipped from resolution as version conflict loser.
+     */
+    public void nodeSkippedAsVersionConflict() {
+        nodesSkippedAsVersionConflict.increment();
+    }
+
+    /**
+     * Records a duplicate node, that was resolved nevertheless, to retain scope selection.
+     */
+    public void nodeForceResolved() {
+        nodesForceResolved.increment();
+    }
+
+    /**
+     * Records time spent deciding whether to skip a node.
+     */
+    public void skipperDecided(long nanos) {
+        skipperTime.add(nanos);
+    }
+
+    /**
+     * Records time spent blocked on results of asynchronous resolution.
+     */
+    public void futureWaited(long nanos) {
+        futureWaitTime.add(nanos);
+    }
+
+    /**
+     * Puts all the counters and timers into passed in map, with keys prefixed by passed in prefix.
+     */
+    public void report(String prefix, Map<String, Object> stats) {
+        stats.put(prefix + "descriptorReads", descriptorReads.sum());
+        stats.put(prefix + "descriptorReadTime", descriptorReadTime.sum());
+        stats.put(prefix + "rangeResolutions", rangeResolutions.sum());
+        stats.put(prefix + "rangeResolveTime", rangeResolveTime.sum());
+        stats.put(prefix + "deriveTime", deriveTime.sum());
+        stats.put(prefix + "nodesCreated", nodesCreated.sum());
+        stats.put(prefix + "subtreesReused", subtreesReused.sum());
+        stats.put(prefix + "nodesSkippedAsDuplicate", nodesSkippedAsDuplicate.sum());
+        stats.put(prefix + "nodesSkippedAsVersionConflict", nodesSkippedAsVersionConflict.sum());
+        stats.put(prefix + "nodesForceResolved", nodesForceResolved.sum());
+        stats.put(prefix + "skipperTime", skipperTime.sum());
+        stats.put(prefix + "futureWaitTime", futureWaitTime.sum());
+    }
+}
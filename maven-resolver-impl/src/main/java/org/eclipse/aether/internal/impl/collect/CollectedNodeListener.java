@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.util.List;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Internal listener notified by collector implementations about nodes as soon as they are settled (their artifact
+ * is final, as relocations were processed), while collection is still ongoing. Instance is handed over to collector
+ * using session configuration property {@link #CONFIG_PROP_LISTENER}. Collectors are not required to support it.
+ *
+ * @since 1.9.9
+ */
+public interface CollectedNodeListener {
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store the {@link CollectedNodeListener} instance. Internal use only.
+     */
+    String CONFIG_PROP_LISTENER = CollectedNodeListener.class.getName();
+
+    /**
+     * Invoked when collector settled given node. Invocations may happen for nodes that later get removed from graph,
+     * for example by conflict resolution.
+     *
+     * @param node    The settled node, never {@code null}.
+     * @param parents All parent nodes of the node in top-down order (root node first), never {@code null}.
+     */
+    void nodeCollected(DependencyNode node, List<DependencyNode> parents);
+
+    /**
+     * Returns the listener carried by given session, or {@code null} if none present.
+     */
+    static CollectedNodeListener get(RepositorySystemSession session) {
+        Object listener = session.getConfigProperties().get(CONFIG_PROP_LISTENER);
+        return listener instanceof CollectedNodeListener ? (CollectedNodeListener) listener : null;
+    }
+}
@@ -18,19 +18,28 @@
  */
 package org.eclipse.aether.internal.impl.collect;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.DependencyManager;
 import org.eclipse.aether.collection.DependencySelector;
 import org.eclipse.aether.collection.DependencyTraverser;
@@ -39,10 +48,12 @@ import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.repository.ArtifactRepository;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceReader;
 import org.eclipse.aether.resolution.ArtifactDescriptorException;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
 import org.eclipse.aether.resolution.VersionRangeResult;
 import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.aether.version.Version;
@@ -58,6 +69,10 @@ public final class DataPool {
 
     private static final String CONFIG_PROP_COLLECTOR_POOL_DESCRIPTOR = "aether.dependencyCollector.pool.descriptor";
 
+    private static final String CONFIG_PROP_COLLECTOR_POOL_MAX_SIZE_SUFFIX = ".maxSize";
+
+    private static final int DEFAULT_COLLECTOR_POOL_MAX_SIZE = 10_000;
+
     private static final String ARTIFACT_POOL = DataPool.class.getName() + "$Artifact";
 
     private static final String DEPENDENCY_POOL = DataPool.class.getName() + "$Dependency";
@@ -82,16 +97,43 @@ public final class DataPool {
      */
     private final InternPool<Object, Descriptor> descriptors;
 
+    /**
+     * Interning pool of derived selectors, managers, traversers and filters, lives during single collection invocation
+     * (same as this DataPool instance).
+     */
+    private final InternPool<Object, Object> derived;
+
+    /**
+     * Persistent descriptor cache, lives across sessions and JVM instances, {@code null} if not enabled.
+     */
+    private final PersistentDescriptorCache persistentDescriptors;
+
+    /**
+     * The session this instance is used with.
+     */
+    private final RepositorySystemSession session;
+
     /**
      * Constraint cache, lives during single collection invocation (same as this DataPool instance).
      */
     private final ConcurrentHashMap<Object, Constraint> constraints;
 
+    /**
+     * In-flight constraint resolutions, lives during single collection invocation (same as this DataPool instance).
+     */
+    private final ConcurrentHashMap<Object, CompletableFuture<Constraint>> pendingConstraints;
+
     /**
      * DependencyNode cache, lives during single collection invocation (same as this DataPool instance).
      */
     private final ConcurrentHashMap<Object, List<DependencyNode>> nodes;
 
+    /**
+     * Versionless artifacts whose coordinates are shared by the interned artifacts of any version, lives during single
+     * collection invocation (same as this DataPool instance).
+     */
+    private final ConcurrentHashMap<Artifact, Artifact> coordinates;
+
     @SuppressWarnings("unchecked")
     public DataPool(RepositorySystemSession session) {
         final RepositoryCache cache = session.getCache();
@@ -108,7 +150,7 @@ public final class DataPool {
         if (artifactsPool == null) {
             String artifactPoolType = ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_ARTIFACT);
 
-            artifactsPool = createPool(artifactPoolType);
+            artifactsPool = createPool(artifactPoolType, maxSize(session, CONFIG_PROP_COLLECTOR_POOL_ARTIFACT));
             if (cache != null) {
                 cache.put(session, ARTIFACT_POOL, artifactsPool);
             }
@@ -117,7 +159,7 @@ public final class DataPool {
         if (dependenciesPool == null) {
             String dependencyPoolType = ConfigUtils.getString(session, WEAK, CONFIG_PROP_COLLECTOR_POOL_DEPENDENCY);
 
-            dependenciesPool = createPool(dependencyPoolType);
+            dependenciesPool = createPool(dependencyPoolType, maxSize(session, CONFIG_PROP_COLLECTOR_POOL_DEPENDENCY));
             if (cache != null) {
                 cache.put(session, DEPENDENCY_POOL, dependenciesPool);
             }
@@ -126,7 +168,7 @@ public final class DataPool {
         if (descriptorsPool == null) {
             String descriptorPoolType = ConfigUtils.getString(session, HARD, CONFIG_PROP_COLLECTOR_POOL_DESCRIPTOR);
 
-            descriptorsPool = createPool(descriptorPoolType);
+            descriptorsPool = createPool(descriptorPoolType, maxSize(session, CONFIG_PROP_COLLECTOR_POOL_DESCRIPTOR));
             if (cache != null) {
                 cache.put(session, DESCRIPTORS, descriptorsPool);
             }
@@ -135,19 +177,115 @@ public final class DataPool {
         this.artifacts = artifactsPool;
         this.dependencies = dependenciesPool;
         this.descriptors = descriptorsPool;
+        this.persistentDescriptors = PersistentDescriptorCache.newInstance(session);
+        this.session = session;
 
         this.constraints = new ConcurrentHashMap<>(256);
+        this.pendingConstraints = new ConcurrentHashMap<>(256);
         this.nodes = new ConcurrentHashMap<>(256);
+        this.coordinates = new ConcurrentHashMap<>(256);
+        this.derived = new HardInternPool<>();
+    }
+
+    private static int maxSize(RepositorySystemSession session, String poolKey) {
+        return ConfigUtils.getInteger(
+                session, DEFAULT_COLLECTOR_POOL_MAX_SIZE, poolKey + CONFIG_PROP_COLLECTOR_POOL_MAX_SIZE_SUFFIX);
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the interning pools, keyed by pool name ("artifact",
+     * "dependency", "descriptor" and "derived") and counter name, like "descriptor.hits". As pools may live across sessions,
+     * so do the counters.
+     *
+     * @since 1.9.9
+     */
+    public Map<String, Long> getPoolStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        artifacts.statistics("artifact", statistics);
+        dependencies.statistics("dependency", statistics);
+        descriptors.statistics("descriptor", statistics);
+        derived.statistics("derived", statistics);
+        return statistics;
     }
 
     public Artifact intern(Artifact artifact) {
-        return artifacts.intern(artifact, artifact);
+        Artifact pooled = artifacts.lookup(artifact);
+        if (pooled != null) {
+            return artifacts.counted(pooled);
+        }
+        return artifacts.intern(artifact, shareCoordinates(artifact));
+    }
+
+    /**
+     * Returns an artifact equal to the specified one, sharing its coordinates and properties with the artifacts of
+     * other versions interned during this collection, as {@link DefaultArtifact#setVersion(String)} does.
+     */
+    private Artifact shareCoordinates(Artifact artifact) {
+        if (!(artifact instanceof DefaultArtifact)) {
+            return artifact;
+        }
+        Artifact versionless = artifact.setVersion("");
+        Artifact canonical = coordinates.putIfAbsent(versionless, versionless);
+        return canonical != null ? canonical.setVersion(artifact.getVersion()) : artifact;
     }
 
     public Dependency intern(Dependency dependency) {
+        Dependency pooled = dependencies.lookup(dependency);
+        if (pooled != null) {
+            return dependencies.counted(pooled);
+        }
+        Artifact artifact = intern(dependency.getArtifact());
+        if (artifact != dependency.getArtifact()) {
+            // setArtifact() would keep the equal artifact of the dependency
+            dependency = new Dependency(
+                    artifact, dependency.getScope(), dependency.getOptional(), dependency.getExclusions());
+        }
         return dependencies.intern(dependency, dependency);
     }
 
+    /**
+     * Returns the canonical instance of an equal derived selector, so equal selectors derived in different parts of
+     * the graph are same instance, making {@link #toKey(Artifact, List, DependencySelector, DependencyManager,
+     * DependencyTraverser, VersionFilter) graph keys} compare by identity and the duplicates garbage right away.
+     *
+     * @since 1.9.9
+     */
+    public DependencySelector intern(DependencySelector selector) {
+        return internDerived(selector);
+    }
+
+    /**
+     * Returns the canonical instance of an equal derived manager, see {@link #intern(DependencySelector)}.
+     *
+     * @since 1.9.9
+     */
+    public DependencyManager intern(DependencyManager manager) {
+        return internDerived(manager);
+    }
+
+    /**
+     * Returns the canonical instance of an equal derived traverser, see {@link #intern(DependencySelector)}.
+     *
+     * @since 1.9.9
+     */
+    public DependencyTraverser intern(DependencyTraverser traverser) {
+        return internDerived(traverser);
+    }
+
+    /**
+     * Returns the canonical instance of an equal derived filter, see {@link #intern(DependencySelector)}.
+     *
+     * @since 1.9.9
+     */
+    public VersionFilter intern(VersionFilter filter) {
+        return internDerived(filter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T internDerived(T value) {
+        return value != null ? (T) derived.intern(value, value) : null;
+    }
+
     public Object toKey(ArtifactDescriptorRequest request) {
         return request.getArtifact();
     }
@@ -157,11 +295,20 @@ public final class DataPool {
         if (descriptor != null) {
             return descriptor.toResult(request);
         }
+        if (persistentDescriptors != null) {
+            ArtifactDescriptorResult result = persistentDescriptors.get(session, request);
+            if (result != null) {
+                return descriptors.intern(key, new GoodDescriptor(result)).toResult(request);
+            }
+        }
         return null;
     }
 
     public void putDescriptor(Object key, ArtifactDescriptorResult result) {
         descriptors.intern(key, new GoodDescriptor(result));
+        if (persistentDescriptors != null) {
+            persistentDescriptors.put(session, result);
+        }
     }
 
     public void putDescriptor(Object key, ArtifactDescriptorException e) {
@@ -184,6 +331,59 @@ public final class DataPool {
         constraints.put(key, new Constraint(result));
     }
 
+    /**
+     * Returns the cached constraint for given key, or resolves and caches it using passed in resolver. Concurrent
+     * callers asking for same key while resolution is in progress wait for it instead of resolving it again.
+     *
+     * @since 1.9.9
+     */
+    public VersionRangeResult computeConstraintIfAbsent(
+            Object key, VersionRangeRequest request, ConstraintResolver resolver)
+            throws VersionRangeResolutionException {
+        VersionRangeResult result = getConstraint(key, request);
+        if (result != null) {
+            return result;
+        }
+
+        CompletableFuture<Constraint> pending = new CompletableFuture<>();
+        CompletableFuture<Constraint> existing = pendingConstraints.putIfAbsent(key, pending);
+        if (existing != null) {
+            try {
+                return existing.get().toResult(request);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                // resolution failed for the other caller, try on our own to report failure properly
+                return resolver.resolve();
+            }
+        }
+
+        try {
+            result = resolver.resolve();
+            Constraint constraint = new Constraint(result);
+            constraints.put(key, constraint);
+            pending.complete(constraint);
+            return result;
+        } catch (VersionRangeResolutionException | RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingConstraints.remove(key, pending);
+        }
+    }
+
+    /**
+     * Resolver of version constraint used with {@link #computeConstraintIfAbsent(Object, VersionRangeRequest,
+     * ConstraintResolver)}.
+     *
+     * @since 1.9.9
+     */
+    @FunctionalInterface
+    public interface ConstraintResolver {
+        VersionRangeResult resolve() throws VersionRangeResolutionException;
+    }
+
     public Object toKey(
             Artifact artifact,
             List<RemoteRepository> repositories,
@@ -202,6 +402,42 @@ public final class DataPool {
         nodes.put(key, children);
     }
 
+    /**
+     * Returns the entries of DependencyNode cache keyed by {@link GraphKey}, candidates for reuse by subsequent
+     * collections, see {@link GraphSnapshot}.
+     */
+    Map<GraphKey, List<DependencyNode>> getPooledChildren() {
+        Map<GraphKey, List<DependencyNode>> result = new HashMap<>(nodes.size());
+        for (Map.Entry<Object, List<DependencyNode>> entry : nodes.entrySet()) {
+            if (entry.getKey() instanceof GraphKey) {
+                result.put((GraphKey) entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether given artifact is resolved from the workspace of session, hence its (mutable) project model
+     * defines its descriptor.
+     */
+    static boolean isInWorkspace(RepositorySystemSession session, Artifact artifact) {
+        WorkspaceReader workspace = session.getWorkspaceReader();
+        if (workspace == null) {
+            return false;
+        }
+        Artifact pomArtifact =
+                new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), "", "pom", artifact.getVersion());
+        return workspace.findArtifact(pomArtifact) != null
+                || !workspace.findVersions(artifact).isEmpty();
+    }
+
+    /**
+     * Seeds the DependencyNode cache with entries of a previous collection.
+     */
+    void putAllChildren(Map<GraphKey, List<DependencyNode>> children) {
+        nodes.putAll(children);
+    }
+
     abstract static class Descriptor {
 
         public abstract ArtifactDescriptorResult toResult(ArtifactDescriptorRequest request);
@@ -347,7 +583,7 @@ public final class DataPool {
     }
 
     static final class GraphKey {
-        private final Artifact artifact;
+        final Artifact artifact;
 
         private final List<RemoteRepository> repositories;
 
@@ -400,11 +636,15 @@ public final class DataPool {
         }
     }
 
-    private static <K, V> InternPool<K, V> createPool(String type) {
+    private static <K, V> InternPool<K, V> createPool(String type, int maxSize) {
         if (HARD.equals(type)) {
             return new HardInternPool<>();
         } else if (WEAK.equals(type)) {
             return new WeakInternPool<>();
+        } else if (SOFT.equals(type)) {
+            return new SoftInternPool<>();
+        } else if (BOUNDED.equals(type)) {
+            return new BoundedInternPool<>(maxSize);
         } else {
             throw new IllegalArgumentException("Unknown object pool type: '" + type + "'");
         }
@@ -414,31 +654,68 @@ public final class DataPool {
 
     private static final String WEAK = "weak";
 
-    private interface InternPool<K, V> {
-        V get(K key);
+    private static final String SOFT = "soft";
 
-        V intern(K key, V value);
+    private static final String BOUNDED = "bounded";
+
+    /**
+     * Interning pool, counting every lookup (either by {@link #get(Object)} or {@link #intern(Object, Object)}) as hit
+     * or miss, and every entry removed by the pool itself as eviction.
+     */
+    private abstract static class InternPool<K, V> {
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+
+        final LongAdder evictions = new LongAdder();
+
+        V get(K key) {
+            return counted(lookup(key));
+        }
+
+        /**
+         * Looks up the pooled value without counting a hit or a miss.
+         */
+        abstract V lookup(K key);
+
+        abstract V intern(K key, V value);
+
+        V counted(V value) {
+            if (value != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+            return value;
+        }
+
+        void statistics(String prefix, Map<String, Long> statistics) {
+            statistics.put(prefix + ".hits", hits.sum());
+            statistics.put(prefix + ".misses", misses.sum());
+            statistics.put(prefix + ".evictions", evictions.sum());
+        }
     }
 
-    private static class HardInternPool<K, V> implements InternPool<K, V> {
+    private static class HardInternPool<K, V> extends InternPool<K, V> {
         private final ConcurrentHashMap<K, V> map = new ConcurrentHashMap<>(256);
 
         @Override
-        public V get(K key) {
+        V lookup(K key) {
             return map.get(key);
         }
 
         @Override
         public V intern(K key, V value) {
-            return map.computeIfAbsent(key, k -> value);
+            V pooled = map.putIfAbsent(key, value);
+            return counted(pooled) != null ? pooled : value;
         }
     }
 
-    private static class WeakInternPool<K, V> implements InternPool<K, V> {
+    private static class WeakInternPool<K, V> extends InternPool<K, V> {
         private final Map<K, WeakReference<V>> map = Collections.synchronizedMap(new WeakHashMap<>(256));
 
         @Override
-        public V get(K key) {
+        V lookup(K key) {
             WeakReference<V> ref = map.get(key);
             return ref != null ? ref.get() : null;
         }
@@ -449,11 +726,180 @@ public final class DataPool {
             if (pooledRef != null) {
                 V pooled = pooledRef.get();
                 if (pooled != null) {
-                    return pooled;
+                    return counted(pooled);
                 }
+                evictions.increment();
             }
+            misses.increment();
             map.put(key, new WeakReference<>(value));
             return value;
         }
     }
+
+    /**
+     * Pool holding both keys and values by soft references, hence entries are reclaimed only under memory pressure.
+     * Unlike {@link WeakInternPool}, it does not serialize callers.
+     */
+    private static class SoftInternPool<K, V> extends InternPool<K, V> {
+        private final ConcurrentHashMap<SoftKey, SoftValue<V>> map = new ConcurrentHashMap<>(256);
+
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+        @Override
+        V lookup(K key) {
+            expunge();
+            SoftValue<V> ref = map.get(new SoftKey(key));
+            return ref != null ? ref.get() : null;
+        }
+
+        @Override
+        public V intern(K key, V value) {
+            expunge();
+            SoftKey softKey = new SoftKey(key, queue);
+            SoftValue<V> softValue = new SoftValue<>(softKey, value, queue);
+            while (true) {
+                SoftValue<V> pooledRef = map.putIfAbsent(softKey, softValue);
+                if (pooledRef == null) {
+                    misses.increment();
+                    return value;
+                }
+                V pooled = pooledRef.get();
+                if (pooled != null) {
+                    return counted(pooled);
+                }
+                if (map.replace(softKey, pooledRef, softValue)) {
+                    evictions.increment();
+                    misses.increment();
+                    return value;
+                }
+            }
+        }
+
+        private void expunge() {
+            Reference<?> ref;
+            while ((ref = queue.poll()) != null) {
+                if (ref instanceof SoftKey) {
+                    if (map.remove(ref) != null) {
+                        evictions.increment();
+                    }
+                } else if (map.remove(((SoftValue<?>) ref).key, ref)) {
+                    evictions.increment();
+                }
+            }
+        }
+
+        private static final class SoftKey extends SoftReference<Object> {
+            private final int hashCode;
+
+            private final Object strong;
+
+            /**
+             * Lookup key, holds the key strongly, never stored in map.
+             */
+            SoftKey(Object key) {
+                super(key);
+                this.hashCode = key.hashCode();
+                this.strong = key;
+            }
+
+            SoftKey(Object key, ReferenceQueue<Object> queue) {
+                super(key, queue);
+                this.hashCode = key.hashCode();
+                this.strong = null;
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (this == obj) {
+                    return true;
+                } else if (!(obj instanceof SoftKey)) {
+                    return false;
+                }
+                Object key = get();
+                return key != null && key.equals(((SoftKey) obj).get());
+            }
+
+            @Override
+            public int hashCode() {
+                return hashCode;
+            }
+        }
+
+        private static final class SoftValue<V> extends SoftReference<V> {
+            private final SoftKey key;
+
+            SoftValue(SoftKey key, V value, ReferenceQueue<Object> queue) {
+                super(value, queue);
+                this.key = key;
+            }
+        }
+    }
+
+    /**
+     * Pool holding at most given count of entries, evicting least recently used ones. To not serialize callers, the
+     * pool is split into stripes, each being an independent LRU map of its share of the capacity.
+     */
+    private static class BoundedInternPool<K, V> extends InternPool<K, V> {
+        private static final int STRIPES = 16;
+
+        private final LruMap<K, V>[] stripes;
+
+        @SuppressWarnings("unchecked")
+        BoundedInternPool(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("Invalid bounded pool size: " + maxSize);
+            }
+            int stripeSize = Math.max(1, (maxSize + STRIPES - 1) / STRIPES);
+            this.stripes = new LruMap[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new LruMap<>(stripeSize, evictions);
+            }
+        }
+
+        private LruMap<K, V> stripe(K key) {
+            int h = key.hashCode();
+            h ^= (h >>> 16);
+            return stripes[h & (STRIPES - 1)];
+        }
+
+        @Override
+        V lookup(K key) {
+            LruMap<K, V> stripe = stripe(key);
+            synchronized (stripe) {
+                return stripe.get(key);
+            }
+        }
+
+        @Override
+        public V intern(K key, V value) {
+            LruMap<K, V> stripe = stripe(key);
+            synchronized (stripe) {
+                V pooled = stripe.putIfAbsent(key, value);
+                return counted(pooled) != null ? pooled : value;
+            }
+        }
+
+        private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+            private static final float LOAD_FACTOR = 0.75f;
+
+            private final int maxSize;
+
+            private final LongAdder evictions;
+
+            LruMap(int maxSize, LongAdder evictions) {
+                super(16, LOAD_FACTOR, true);
+                this.maxSize = maxSize;
+                this.evictions = evictions;
+            }
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
 }
@@ -78,12 +78,23 @@ public class DefaultDependencyCollector implements DependencyCollector, Service
     @Override
     public CollectResult collectDependencies(RepositorySystemSession session, CollectRequest request)
             throws DependencyCollectionException {
+        return getDelegate(session).collectDependencies(session, request);
+    }
+
+    @Override
+    public CollectResult collectDependencies(
+            RepositorySystemSession session, CollectRequest request, CollectResult previous)
+            throws DependencyCollectionException {
+        return getDelegate(session).collectDependencies(session, request, previous);
+    }
+
+    private DependencyCollectorDelegate getDelegate(RepositorySystemSession session) {
         String delegateName = ConfigUtils.getString(session, DEFAULT_COLLECTOR_IMPL, CONFIG_PROP_COLLECTOR_IMPL);
         DependencyCollectorDelegate delegate = delegates.get(delegateName);
         if (delegate == null) {
             throw new IllegalArgumentException(
                     "Unknown collector impl: '" + delegateName + "', known implementations are " + delegates.keySet());
         }
-        return delegate.collectDependencies(session, request);
+        return delegate;
     }
 }
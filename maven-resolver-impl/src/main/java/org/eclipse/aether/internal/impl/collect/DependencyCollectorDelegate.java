@@ -22,9 +22,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositoryException;
@@ -76,6 +78,26 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
 
     protected static final int CONFIG_PROP_MAX_CYCLES_DEFAULT = 10;
 
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store a {@link Boolean} flag whether collection results should carry a snapshot of the
+     * collected graph, making them reusable by
+     * {@link #collectDependencies(RepositorySystemSession, CollectRequest, CollectResult)}. The snapshot is held
+     * softly, so it is dropped rather than pinning the heap, and it is not taken by collectors leaving pooled subgraphs
+     * incomplete, see {@link #isReusableGraph(RepositorySystemSession)}. Subgraphs are not reused if they contain
+     * snapshot artifacts, artifacts resolved from the workspace, or cycles, see {@link GraphSnapshot}.
+     *
+     * @since 1.9.9
+     */
+    protected static final String CONFIG_PROP_INCREMENTAL = "aether.dependencyCollector.incremental";
+
+    /**
+     * The default value for {@link #CONFIG_PROP_INCREMENTAL}, {@code false}.
+     *
+     * @since 1.9.9
+     */
+    protected static final boolean CONFIG_PROP_INCREMENTAL_DEFAULT = false;
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     protected RemoteRepositoryManager remoteRepositoryManager;
@@ -125,10 +147,24 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
         return this;
     }
 
-    @SuppressWarnings("checkstyle:methodlength")
     @Override
     public final CollectResult collectDependencies(RepositorySystemSession session, CollectRequest request)
             throws DependencyCollectionException {
+        return collectDependencies(session, request, null);
+    }
+
+    /**
+     * Collects dependencies, reusing subgraphs of previous result, if it carries a snapshot of its graph, and all the
+     * inputs of a subgraph are unchanged. Subgraphs containing snapshot or workspace artifacts, or cycles, are never
+     * reused.
+     *
+     * @since 1.9.9
+     */
+    @SuppressWarnings("checkstyle:methodlength")
+    @Override
+    public final CollectResult collectDependencies(
+            RepositorySystemSession session, CollectRequest request, CollectResult previous)
+            throws DependencyCollectionException {
         requireNonNull(session, "session cannot be null");
         requireNonNull(request, "request cannot be null");
         session = optimizeSession(session);
@@ -209,15 +245,23 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
 
         boolean traverse = root == null || depTraverser == null || depTraverser.traverseDependency(root);
         String errorPath = null;
+        GraphSnapshot snapshot = null;
+        DataPool pool = null;
+        CollectStats collectStats = new CollectStats();
         if (traverse && !dependencies.isEmpty()) {
-            DataPool pool = new DataPool(session);
+            pool = new DataPool(session);
+
+            GraphSnapshot previousSnapshot = GraphSnapshot.get(previous, request);
+            if (previousSnapshot != null) {
+                previousSnapshot.seed(pool);
+            }
 
             DefaultDependencyCollectionContext context = new DefaultDependencyCollectionContext(
                     session, request.getRootArtifact(), root, managedDependencies);
 
             DefaultVersionFilterContext versionContext = new DefaultVersionFilterContext(session);
 
-            Results results = new Results(result, session);
+            Results results = new Results(result, session, collectStats);
 
             doCollectDependencies(
                     session,
@@ -233,6 +277,11 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
                     results);
 
             errorPath = results.getErrorPath();
+
+            if (ConfigUtils.getBoolean(session, CONFIG_PROP_INCREMENTAL_DEFAULT, CONFIG_PROP_INCREMENTAL)
+                    && isReusableGraph(session)) {
+                snapshot = GraphSnapshot.take(session, request, pool, results.getCyclicChildren());
+            }
         }
 
         long time2 = System.nanoTime();
@@ -249,10 +298,20 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
             }
         }
 
+        if (snapshot != null) {
+            snapshot.attach(result);
+        }
+
         long time3 = System.nanoTime();
+        String prefix = getClass().getSimpleName() + ".";
+        stats.put(prefix + "collectTime", time2 - time1);
+        stats.put(prefix + "transformTime", time3 - time2);
+        collectStats.report(prefix, stats);
+        if (pool != null) {
+            pool.getPoolStatistics().forEach((k, v) -> stats.put(DataPool.class.getSimpleName() + "." + k, v));
+        }
+        result.setStats(stats);
         if (logger.isDebugEnabled()) {
-            stats.put(getClass().getSimpleName() + ".collectTime", time2 - time1);
-            stats.put(getClass().getSimpleName() + ".transformTime", time3 - time2);
             logger.debug("Dependency collection stats {}", stats);
         }
 
@@ -299,6 +358,18 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
             List<Dependency> managedDependencies,
             Results results);
 
+    /**
+     * Tells whether the child lists pooled by {@link #doCollectDependencies} describe complete subgraphs, hence may be
+     * snapshot for reuse by later collections. Collectors that leave nodes of the pooled lists unexpanded (for example
+     * because an equal node was expanded elsewhere in the graph) must return {@code false}, as a later collection
+     * might not contain that other node.
+     *
+     * @since 1.9.9
+     */
+    protected boolean isReusableGraph(RepositorySystemSession session) {
+        return true;
+    }
+
     protected RepositorySystemSession optimizeSession(RepositorySystemSession session) {
         DefaultRepositorySystemSession optimized = new DefaultRepositorySystemSession(session);
         optimized.setArtifactTypeRegistry(CachingArtifactTypeRegistry.newInstance(session));
@@ -398,15 +469,17 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
     }
 
     protected VersionRangeResult cachedResolveRangeResult(
-            VersionRangeRequest rangeRequest, DataPool pool, RepositorySystemSession session)
+            VersionRangeRequest rangeRequest, DataPool pool, RepositorySystemSession session, CollectStats stats)
             throws VersionRangeResolutionException {
         Object key = pool.toKey(rangeRequest);
-        VersionRangeResult rangeResult = pool.getConstraint(key, rangeRequest);
-        if (rangeResult == null) {
-            rangeResult = versionRangeResolver.resolveVersionRange(session, rangeRequest);
-            pool.putConstraint(key, rangeResult);
-        }
-        return rangeResult;
+        return pool.computeConstraintIfAbsent(key, rangeRequest, () -> {
+            long start = System.nanoTime();
+            try {
+                return versionRangeResolver.resolveVersionRange(session, rangeRequest);
+            } finally {
+                stats.rangeResolved(System.nanoTime() - start);
+            }
+        });
     }
 
     protected static boolean isLackingDescriptor(Artifact artifact) {
@@ -463,14 +536,26 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
 
         private final CollectResult result;
 
+        private final CollectStats stats;
+
         final int maxExceptions;
 
         final int maxCycles;
 
         String errorPath;
 
+        private final Set<List<DependencyNode>> cyclicChildren = Collections.newSetFromMap(new IdentityHashMap<>());
+
         public Results(CollectResult result, RepositorySystemSession session) {
+            this(result, session, new CollectStats());
+        }
+
+        /**
+         * @since 1.9.9
+         */
+        public Results(CollectResult result, RepositorySystemSession session, CollectStats stats) {
             this.result = result;
+            this.stats = stats;
 
             maxExceptions =
                     ConfigUtils.getInteger(session, CONFIG_PROP_MAX_EXCEPTIONS_DEFAULT, CONFIG_PROP_MAX_EXCEPTIONS);
@@ -482,6 +567,21 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
             return errorPath;
         }
 
+        /**
+         * @since 1.9.9
+         */
+        public CollectStats getStats() {
+            return stats;
+        }
+
+        /**
+         * Returns the child lists of all nodes on the paths a cycle was found on, that is the subgraphs that
+         * contained a cycle. Those are not reusable, as reusing them would skip cycle detection.
+         */
+        Set<List<DependencyNode>> getCyclicChildren() {
+            return cyclicChildren;
+        }
+
         public void addException(Dependency dependency, Exception e, List<DependencyNode> nodes) {
             if (maxExceptions < 0 || result.getExceptions().size() < maxExceptions) {
                 result.addException(e);
@@ -506,6 +606,9 @@ public abstract class DependencyCollectorDelegate implements DependencyCollector
         }
 
         public void addCycle(List<DependencyNode> nodes, int cycleEntry, Dependency dependency) {
+            for (DependencyNode node : nodes) {
+                cyclicChildren.add(node.getChildren());
+            }
             if (maxCycles < 0 || result.getCycles().size() < maxCycles) {
                 result.addCycle(new DefaultDependencyCycle(nodes, cycleEntry, dependency));
             }
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Snapshot of subgraphs built by a collection, keyed by {@link DataPool#toKey(org.eclipse.aether.artifact.Artifact,
+ * List, org.eclipse.aether.collection.DependencySelector, org.eclipse.aether.collection.DependencyManager,
+ * org.eclipse.aether.collection.DependencyTraverser, org.eclipse.aether.collection.VersionFilter) graph keys}, taken
+ * before graph transformation (that modifies the graph in place). It is carried by the root node of collection result,
+ * to make subsequent collections able to reuse unchanged subgraphs. As the snapshot is a copy of the untransformed
+ * graph, it is referenced softly only: under memory pressure it is dropped, and the next collection simply is a full
+ * one.
+ * <p>
+ * A subgraph is left out of the snapshot if its key artifact, or any artifact within it, is a snapshot or is
+ * resolved from the workspace, as their descriptors may change between collections. Subgraphs a cycle was found in
+ * are left out as well, as reusing them would skip cycle detection and the reported cycles would differ from those of
+ * a full collection. Internal helper class for collector implementations.
+ *
+ * @since 1.9.9
+ */
+final class GraphSnapshot {
+    /**
+     * The key of {@link DependencyNode#getData() root node data} carrying the snapshot.
+     */
+    private static final String DATA_KEY = GraphSnapshot.class.getName();
+
+    private final String requestContext;
+
+    private final Map<DataPool.GraphKey, List<DependencyNode>> children;
+
+    private GraphSnapshot(String requestContext, Map<DataPool.GraphKey, List<DependencyNode>> children) {
+        this.requestContext = requestContext;
+        this.children = children;
+    }
+
+    /**
+     * Takes snapshot of reusable subgraphs of given pool.
+     *
+     * @param cyclicChildren The child lists of nodes on paths a cycle was found on.
+     */
+    static GraphSnapshot take(
+            RepositorySystemSession session,
+            CollectRequest request,
+            DataPool pool,
+            Set<List<DependencyNode>> cyclicChildren) {
+        Map<Artifact, Boolean> volatileArtifacts = new HashMap<>();
+        Map<DataPool.GraphKey, List<DependencyNode>> pooled = pool.getPooledChildren();
+        Set<List<DependencyNode>> stale = findStale(session, pooled.values(), cyclicChildren, volatileArtifacts);
+        Map<DataPool.GraphKey, List<DependencyNode>> reusable = new HashMap<>(pooled.size());
+        for (Map.Entry<DataPool.GraphKey, List<DependencyNode>> entry : pooled.entrySet()) {
+            if (!stale.contains(entry.getValue()) && !isVolatile(session, entry.getKey().artifact, volatileArtifacts)) {
+                reusable.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new GraphSnapshot(request.getRequestContext(), copy(reusable));
+    }
+
+    /**
+     * Finds the child lists that are not reusable: those that contained a cycle, those holding a node of volatile
+     * artifact, and all lists (transitively) holding a node having a non reusable child list.
+     */
+    private static Set<List<DependencyNode>> findStale(
+            RepositorySystemSession session,
+            Collection<List<DependencyNode>> lists,
+            Set<List<DependencyNode>> cyclicChildren,
+            Map<Artifact, Boolean> volatileArtifacts) {
+        IdentityHashMap<List<DependencyNode>, List<List<DependencyNode>>> parents = new IdentityHashMap<>();
+        Set<List<DependencyNode>> stale = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<List<DependencyNode>> pending = new ArrayDeque<>();
+        for (List<DependencyNode> list : lists) {
+            if (!parents.containsKey(list)) {
+                parents.put(list, new ArrayList<>());
+                pending.push(list);
+            }
+        }
+        Deque<List<DependencyNode>> staleOnes = new ArrayDeque<>();
+        while (!pending.isEmpty()) {
+            List<DependencyNode> list = pending.pop();
+            boolean isStale = cyclicChildren.contains(list);
+            for (DependencyNode node : list) {
+                isStale |= isVolatile(session, node.getArtifact(), volatileArtifacts);
+                List<DependencyNode> children = node.getChildren();
+                List<List<DependencyNode>> childParents = parents.get(children);
+                if (childParents == null) {
+                    childParents = new ArrayList<>();
+                    parents.put(children, childParents);
+                    pending.push(children);
+                }
+                childParents.add(list);
+            }
+            if (isStale && stale.add(list)) {
+                staleOnes.push(list);
+            }
+        }
+        while (!staleOnes.isEmpty()) {
+            for (List<DependencyNode> parent : parents.get(staleOnes.pop())) {
+                if (stale.add(parent)) {
+                    staleOnes.push(parent);
+                }
+            }
+        }
+        return stale;
+    }
+
+    private static boolean isVolatile(
+            RepositorySystemSession session, Artifact artifact, Map<Artifact, Boolean> volatileArtifacts) {
+        if (artifact == null) {
+            return false;
+        }
+        return volatileArtifacts.computeIfAbsent(artifact, a -> a.isSnapshot() || DataPool.isInWorkspace(session, a));
+    }
+
+    /**
+     * Returns the snapshot carried by given previous result, if it is usable with given request, or {@code null}.
+     * Results with exceptions are not reused, as errors are reported only when subgraph is being built.
+     */
+    static GraphSnapshot get(CollectResult previous, CollectRequest request) {
+        if (previous == null
+                || previous.getRoot() == null
+                || !previous.getExceptions().isEmpty()) {
+            return null;
+        }
+        Object ref = previous.getRoot().getData().get(DATA_KEY);
+        Object snapshot = (ref instanceof SoftReference) ? ((SoftReference<?>) ref).get() : null;
+        if (snapshot instanceof GraphSnapshot
+                && Objects.equals(((GraphSnapshot) snapshot).requestContext, request.getRequestContext())) {
+            return (GraphSnapshot) snapshot;
+        }
+        return null;
+    }
+
+    /**
+     * Stores this snapshot into given result.
+     */
+    void attach(CollectResult result) {
+        if (result.getRoot() != null) {
+            result.getRoot().setData(DATA_KEY, new SoftReference<>(this));
+        }
+    }
+
+    /**
+     * Seeds given pool with copies of snapshot subgraphs, leaving this snapshot intact.
+     */
+    void seed(DataPool pool) {
+        pool.putAllChildren(copy(children));
+    }
+
+    /**
+     * Deep copies the node lists, preserving sharing of lists among nodes (and hence cycles as well).
+     */
+    private static Map<DataPool.GraphKey, List<DependencyNode>> copy(
+            Map<DataPool.GraphKey, List<DependencyNode>> children) {
+        IdentityHashMap<List<DependencyNode>, List<DependencyNode>> copies = new IdentityHashMap<>();
+        Deque<List<DependencyNode>> pending = new ArrayDeque<>();
+        Map<DataPool.GraphKey, List<DependencyNode>> result = new HashMap<>(children.size());
+        for (Map.Entry<DataPool.GraphKey, List<DependencyNode>> entry : children.entrySet()) {
+            result.put(entry.getKey(), copy(entry.getValue(), copies, pending));
+        }
+        while (!pending.isEmpty()) {
+            List<DependencyNode> list = pending.pop();
+            List<DependencyNode> copy = copies.get(list);
+            for (DependencyNode node : list) {
+                DefaultDependencyNode nodeCopy = new DefaultDependencyNode(node);
+                nodeCopy.setChildren(copy(node.getChildren(), copies, pending));
+                copy.add(nodeCopy);
+            }
+        }
+        return result;
+    }
+
+    private static List<DependencyNode> copy(
+            List<DependencyNode> list,
+            IdentityHashMap<List<DependencyNode>, List<DependencyNode>> copies,
+            Deque<List<DependencyNode>> pending) {
+        List<DependencyNode> copy = copies.get(list);
+        if (copy == null) {
+            copy = new ArrayList<>(list.size());
+            copies.put(list, copy);
+            pending.push(list);
+        }
+        return copy;
+    }
+}
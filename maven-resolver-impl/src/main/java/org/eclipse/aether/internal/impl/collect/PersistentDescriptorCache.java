@@ -0,0 +1,556 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactType;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.DirectoryUtils;
+import org.eclipse.aether.util.FileUtils;
+import org.eclipse.aether.util.StringDigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent (on disk) cache of artifact descriptors, that outlives sessions and JVM instances. Entries are stored
+ * in compact binary form below a directory in local repository, keyed by a fingerprint of the environment the
+ * descriptor was built in (session user properties, JDK and OS properties driving profile activation, and an optional
+ * allow-list of further system properties) and by descriptor request artifact (same as {@link DataPool#toKey(ArtifactDescriptorRequest)}). Entries
+ * are validated against the size and last modification time of the POM file present in local repository. Only release
+ * artifacts are cached, as their POMs (and parent and imported POMs) are immutable. Artifacts resolved from the
+ * workspace and results carrying exceptions are never cached. Directories of fingerprints not used for
+ * {@link #CONFIG_PROP_MAX_AGE} days are removed.
+ * <p>
+ * Internal helper for {@link DataPool}, failures of this cache are never fatal, they result in cache miss.
+ *
+ * @since 1.9.9
+ */
+final class PersistentDescriptorCache {
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store a {@link Boolean} flag controlling whether persistent descriptor cache is used.
+     */
+    static final String CONFIG_PROP_ENABLED = "aether.dependencyCollector.pool.descriptor.persistent";
+
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store the basedir of persistent descriptor cache. If relative, resolved against local
+     * repository root.
+     */
+    static final String CONFIG_PROP_BASEDIR = "aether.dependencyCollector.pool.descriptor.persistent.basedir";
+
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store a comma separated list of session system properties that affect descriptors, besides
+     * those driving profile activation by JDK and OS, which are always considered.
+     */
+    static final String CONFIG_PROP_SYSTEM_PROPERTIES =
+            "aether.dependencyCollector.pool.descriptor.persistent.systemProperties";
+
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store the number of days after which the cache of an unused fingerprint is removed.
+     */
+    static final String CONFIG_PROP_MAX_AGE = "aether.dependencyCollector.pool.descriptor.persistent.maxAge";
+
+    static final int DEFAULT_MAX_AGE = 30;
+
+    static final String LOCAL_REPO_PREFIX_DIR = ".descriptors";
+
+    /**
+     * The system properties profile activation by JDK and OS depends on.
+     */
+    private static final String[] ACTIVATION_PROPERTIES = {"java.version", "os.name", "os.arch", "os.version"};
+
+    private static final String LAST_USED_FILE = ".lastUsed";
+
+    /**
+     * The basedirs pruned already by this JVM, to prune each at most once.
+     */
+    private static final Set<Path> PRUNED = ConcurrentHashMap.newKeySet();
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentDescriptorCache.class);
+
+    private static final int MAGIC = 0x4d524443; // MRDC
+
+    private static final byte FORMAT_VERSION = 2;
+
+    private final Path basedir;
+
+    private PersistentDescriptorCache(Path basedir) {
+        this.basedir = basedir;
+    }
+
+    /**
+     * Calculates the fingerprint of the environment descriptors are built in: same POM may result in different
+     * effective descriptors if properties, JDK or OS differ. System properties are only considered if allow-listed,
+     * as they carry values changing on every invocation (like environment variables or the command line) that would
+     * make the fingerprint, and hence the cache directory, differ each time.
+     */
+    static String fingerprint(RepositorySystemSession session) {
+        Map<String, String> system = new TreeMap<>();
+        for (String key : ACTIVATION_PROPERTIES) {
+            system.put(key, getSystemProperty(session, key));
+        }
+        String allowed = ConfigUtils.getString(session, "", CONFIG_PROP_SYSTEM_PROPERTIES);
+        for (String key : allowed.split(",")) {
+            key = key.trim();
+            if (!key.isEmpty()) {
+                system.put(key, getSystemProperty(session, key));
+            }
+        }
+        StringBuilder buffer = new StringBuilder();
+        appendProperties(buffer, "system", system);
+        appendProperties(buffer, "user", new TreeMap<>(session.getUserProperties()));
+        return StringDigestUtil.sha1(buffer.toString());
+    }
+
+    private static String getSystemProperty(RepositorySystemSession session, String key) {
+        String value = session.getSystemProperties().get(key);
+        return value != null ? value : System.getProperty(key);
+    }
+
+    private static void appendProperties(StringBuilder buffer, String prefix, Map<String, String> properties) {
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            buffer.append(prefix)
+                    .append('.')
+                    .append(entry.getKey())
+                    .append('=')
+                    .append(entry.getValue())
+                    .append('\n');
+        }
+    }
+
+    /**
+     * Returns new instance if persistent cache is enabled in session, {@code null} otherwise.
+     */
+    static PersistentDescriptorCache newInstance(RepositorySystemSession session) {
+        if (!ConfigUtils.getBoolean(session, false, CONFIG_PROP_ENABLED)) {
+            return null;
+        }
+        try {
+            Path root = DirectoryUtils.resolveDirectory(session, LOCAL_REPO_PREFIX_DIR, CONFIG_PROP_BASEDIR, false);
+            Path basedir = root.resolve(fingerprint(session));
+            markUsed(basedir);
+            if (PRUNED.add(root)) {
+                prune(root, basedir, ConfigUtils.getInteger(session, DEFAULT_MAX_AGE, CONFIG_PROP_MAX_AGE));
+            }
+            return new PersistentDescriptorCache(basedir);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to set up persistent descriptor cache, not using it", e);
+            return null;
+        }
+    }
+
+    private static void markUsed(Path basedir) throws IOException {
+        Path lastUsed = basedir.resolve(LAST_USED_FILE);
+        Files.createDirectories(basedir);
+        if (Files.exists(lastUsed)) {
+            Files.setLastModifiedTime(lastUsed, FileTime.fromMillis(System.currentTimeMillis()));
+        } else {
+            Files.write(lastUsed, new byte[0]);
+        }
+    }
+
+    /**
+     * Removes the directories of other fingerprints not used for given days. Failures are logged and ignored, as a
+     * concurrent process may be pruning or using the same directories.
+     */
+    private static void prune(Path root, Path current, int maxAgeDays) {
+        if (maxAgeDays <= 0) {
+            return;
+        }
+        long threshold = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAgeDays);
+        try (DirectoryStream<Path> fingerprints = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path fingerprint : fingerprints) {
+                if (fingerprint.equals(current)) {
+                    continue;
+                }
+                Path lastUsed = fingerprint.resolve(LAST_USED_FILE);
+                Path marker = Files.exists(lastUsed) ? lastUsed : fingerprint;
+                if (Files.getLastModifiedTime(marker).toMillis() < threshold) {
+                    LOGGER.debug("Removing stale persistent descriptor cache {}", fingerprint);
+                    deleteTree(fingerprint);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Failed to prune persistent descriptor cache {}", root, e);
+        }
+    }
+
+    private static void deleteTree(Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.deleteIfExists(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.deleteIfExists(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Returns the cached descriptor of requested artifact, if present and still valid, {@code null} otherwise.
+     */
+    ArtifactDescriptorResult get(RepositorySystemSession session, ArtifactDescriptorRequest request) {
+        Artifact artifact = request.getArtifact();
+        if (artifact.isSnapshot() || isInWorkspace(session, artifact)) {
+            return null;
+        }
+        File pom = findPom(session, request);
+        if (pom == null) {
+            return null;
+        }
+        Path entry = entryPath(artifact);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            if (in.readLong() != pom.length() || in.readLong() != pom.lastModified()) {
+                return null;
+            }
+            return new Reader(in).readResult(request);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Failed to read persisted descriptor of {}", artifact, e);
+            return null;
+        }
+    }
+
+    /**
+     * Persists the descriptor, if eligible.
+     */
+    void put(RepositorySystemSession session, ArtifactDescriptorResult result) {
+        ArtifactDescriptorRequest request = result.getRequest();
+        Artifact artifact = request.getArtifact();
+        if (artifact.isSnapshot() || isInWorkspace(session, artifact) || !isPersistable(result)) {
+            return;
+        }
+        File pom = findPom(session, request);
+        if (pom == null) {
+            return;
+        }
+        long size = pom.length();
+        long lastModified = pom.lastModified();
+        try {
+            FileUtils.writeFile(entryPath(artifact), p -> {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(p)))) {
+                    out.writeInt(MAGIC);
+                    out.writeByte(FORMAT_VERSION);
+                    out.writeLong(size);
+                    out.writeLong(lastModified);
+                    new Writer(out).writeResult(result);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Failed to persist descriptor of {}", artifact, e);
+        }
+    }
+
+    private Path entryPath(Artifact artifact) {
+        StringBuilder name = new StringBuilder(128)
+                .append(artifact.getArtifactId())
+                .append('-')
+                .append(artifact.getVersion());
+        if (!artifact.getClassifier().isEmpty()) {
+            name.append('-').append(artifact.getClassifier());
+        }
+        name.append('.').append(artifact.getExtension()).append(".descriptor");
+        return basedir.resolve(artifact.getGroupId())
+                .resolve(artifact.getArtifactId())
+                .resolve(artifact.getVersion())
+                .resolve(name.toString());
+    }
+
+    private static Artifact toPomArtifact(Artifact artifact) {
+        return new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), "", "pom", artifact.getVersion());
+    }
+
+    /**
+     * Descriptors of artifacts resolved from workspace reflect the (mutable) project model, they are never cached.
+     */
+    private static boolean isInWorkspace(RepositorySystemSession session, Artifact artifact) {
+        return DataPool.isInWorkspace(session, artifact);
+    }
+
+    private static File findPom(RepositorySystemSession session, ArtifactDescriptorRequest request) {
+        Artifact pomArtifact = toPomArtifact(request.getArtifact());
+        LocalArtifactResult result = session.getLocalRepositoryManager()
+                .find(
+                        session,
+                        new LocalArtifactRequest(pomArtifact, request.getRepositories(), request.getRequestContext()));
+        return result.isAvailable() ? result.getFile() : null;
+    }
+
+    /**
+     * Only complete results are persisted: results with exceptions are not, and neither are results with properties
+     * other than strings. Repositories are persisted with their "raw" data only, as that is what descriptors carry:
+     * mirrors, proxies and authentication are applied later on.
+     */
+    private static boolean isPersistable(ArtifactDescriptorResult result) {
+        if (!result.getExceptions().isEmpty()) {
+            return false;
+        }
+        for (Object value : result.getProperties().values()) {
+            if (!(value instanceof String)) {
+                return false;
+            }
+        }
+        for (RemoteRepository repository : result.getRepositories()) {
+            if (repository.isRepositoryManager()
+                    || !repository.getMirroredRepositories().isEmpty()
+                    || repository.getAuthentication() != null
+                    || repository.getProxy() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writer with string table: each distinct string is written once, repeated occurrences are written as index.
+     */
+    private static final class Writer {
+        private final DataOutputStream out;
+
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeResult(ArtifactDescriptorResult result) throws IOException {
+            writeArtifact(result.getArtifact());
+            writeArtifacts(result.getRelocations());
+            writeArtifacts(result.getAliases());
+            writeDependencies(result.getDependencies());
+            writeDependencies(result.getManagedDependencies());
+            out.writeInt(result.getRepositories().size());
+            for (RemoteRepository repository : result.getRepositories()) {
+                writeString(repository.getId());
+                writeString(repository.getContentType());
+                writeString(repository.getUrl());
+                writePolicy(repository.getPolicy(true));
+                writePolicy(repository.getPolicy(false));
+            }
+            out.writeInt(result.getProperties().size());
+            for (Map.Entry<String, Object> entry : result.getProperties().entrySet()) {
+                writeString(entry.getKey());
+                writeString((String) entry.getValue());
+            }
+        }
+
+        private void writePolicy(RepositoryPolicy policy) throws IOException {
+            out.writeBoolean(policy.isEnabled());
+            writeString(policy.getUpdatePolicy());
+            writeString(policy.getChecksumPolicy());
+        }
+
+        private void writeDependencies(List<Dependency> dependencies) throws IOException {
+            out.writeInt(dependencies.size());
+            for (Dependency dependency : dependencies) {
+                writeArtifact(dependency.getArtifact());
+                writeString(dependency.getScope());
+                Boolean optional = dependency.getOptional();
+                out.writeByte(optional == null ? -1 : optional ? 1 : 0);
+                out.writeInt(dependency.getExclusions().size());
+                for (Exclusion exclusion : dependency.getExclusions()) {
+                    writeString(exclusion.getGroupId());
+                    writeString(exclusion.getArtifactId());
+                    writeString(exclusion.getClassifier());
+                    writeString(exclusion.getExtension());
+                }
+            }
+        }
+
+        private void writeArtifacts(Collection<Artifact> artifacts) throws IOException {
+            out.writeInt(artifacts.size());
+            for (Artifact artifact : artifacts) {
+                writeArtifact(artifact);
+            }
+        }
+
+        private void writeArtifact(Artifact artifact) throws IOException {
+            if (artifact.getFile() != null) {
+                throw new IOException("Artifact with file cannot be persisted: " + artifact);
+            }
+            writeString(artifact.getGroupId());
+            writeString(artifact.getArtifactId());
+            writeString(artifact.getVersion());
+            writeString(artifact.getClassifier());
+            writeString(artifact.getExtension());
+            Map<String, String> properties = artifact.getProperties();
+            out.writeInt(properties.size());
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                writeString(entry.getKey());
+                writeString(entry.getValue());
+            }
+        }
+
+        private void writeString(String string) throws IOException {
+            Integer index = strings.get(string);
+            if (index != null) {
+                out.writeInt(index);
+            } else {
+                out.writeInt(-1);
+                out.writeUTF(string);
+                strings.put(string, strings.size());
+            }
+        }
+    }
+
+    /**
+     * Reader counterpart of {@link Writer}.
+     */
+    private static final class Reader {
+        private final DataInputStream in;
+
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        ArtifactDescriptorResult readResult(ArtifactDescriptorRequest request) throws IOException {
+            ArtifactDescriptorResult result = new ArtifactDescriptorResult(request);
+            result.setArtifact(readArtifact());
+            result.setRelocations(readArtifacts());
+            result.setAliases(readArtifacts());
+            result.setDependencies(readDependencies());
+            result.setManagedDependencies(readDependencies());
+            int count = in.readInt();
+            List<RemoteRepository> repositories = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                repositories.add(new RemoteRepository.Builder(readString(), readString(), readString())
+                        .setSnapshotPolicy(readPolicy())
+                        .setReleasePolicy(readPolicy())
+                        .build());
+            }
+            result.setRepositories(repositories);
+            count = in.readInt();
+            Map<String, Object> properties = new LinkedHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                properties.put(readString(), readString());
+            }
+            result.setProperties(properties);
+            return result;
+        }
+
+        private RepositoryPolicy readPolicy() throws IOException {
+            boolean enabled = in.readBoolean();
+            return new RepositoryPolicy(enabled, readString(), readString());
+        }
+
+        private List<Dependency> readDependencies() throws IOException {
+            int count = in.readInt();
+            List<Dependency> dependencies = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Artifact artifact = readArtifact();
+                String scope = readString();
+                byte optional = in.readByte();
+                int exclusionCount = in.readInt();
+                List<Exclusion> exclusions = new ArrayList<>(exclusionCount);
+                for (int j = 0; j < exclusionCount; j++) {
+                    exclusions.add(new Exclusion(readString(), readString(), readString(), readString()));
+                }
+                dependencies.add(new Dependency(
+                        artifact,
+                        scope,
+                        optional < 0 ? null : optional > 0 ? Boolean.TRUE : Boolean.FALSE,
+                        exclusions));
+            }
+            return dependencies;
+        }
+
+        private List<Artifact> readArtifacts() throws IOException {
+            int count = in.readInt();
+            List<Artifact> artifacts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                artifacts.add(readArtifact());
+            }
+            return artifacts;
+        }
+
+        private Artifact readArtifact() throws IOException {
+            String groupId = readString();
+            String artifactId = readString();
+            String version = readString();
+            String classifier = readString();
+            String extension = readString();
+            int count = in.readInt();
+            Map<String, String> properties = new LinkedHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                properties.put(readString(), readString());
+            }
+            return new DefaultArtifact(
+                    groupId, artifactId, classifier, extension, version, properties, (ArtifactType) null);
+        }
+
+        private String readString() throws IOException {
+            int index = in.readInt();
+            if (index >= 0) {
+                return strings.get(index);
+            }
+            String string = in.readUTF();
+            strings.add(string);
+            return string;
+        }
+    }
+}
@@ -35,13 +35,15 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.RequestTrace;
 import org.eclipse.aether.artifact.Artifact;
@@ -58,6 +60,7 @@ import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.impl.ArtifactDescriptorReader;
 import org.eclipse.aether.impl.RemoteRepositoryManager;
 import org.eclipse.aether.impl.VersionRangeResolver;
+import org.eclipse.aether.internal.impl.collect.CollectedNodeListener;
 import org.eclipse.aether.internal.impl.collect.DataPool;
 import org.eclipse.aether.internal.impl.collect.DefaultDependencyCollectionContext;
 import org.eclipse.aether.internal.impl.collect.DefaultVersionFilterContext;
@@ -69,13 +72,16 @@ import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
 import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.spi.concurrency.ExecutorProvider;
 import org.eclipse.aether.spi.locator.Service;
+import org.eclipse.aether.spi.locator.ServiceLocator;
 import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.eclipse.aether.util.concurrency.ExecutorUtils;
 import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
 import org.eclipse.aether.version.Version;
 
+import static java.util.Objects.requireNonNull;
 import static org.eclipse.aether.internal.impl.collect.DefaultDependencyCycle.find;
 
 /**
@@ -110,6 +116,28 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
      */
     static final String CONFIG_PROP_THREADS = "aether.dependencyCollector.bf.threads";
 
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties()
+     * configuration properties} used to store a {@link Boolean} flag controlling lazy resolution of version ranges.
+     * When enabled, the descriptors of versions matching a range are read one by one, and only the first version
+     * having a descriptor is used. Candidates are ordered by the session's {@link VersionFilter}: the versions it
+     * accepts come first, newest first, and on failure of all of them, the versions it accepts out of the remaining
+     * versions of the range follow, and so on. The versions after the used one are not even considered, hence the
+     * dependency graph does not contain them, and conflict resolution cannot select them either. Hence overlapping
+     * ranges on different paths, like {@code [1,2)} and {@code [1,1.5]}, may end up with versions no conflict
+     * resolution can reconcile, while with all versions present it could.
+     *
+     * @since 1.9.9
+     */
+    static final String CONFIG_PROP_LAZY_RANGES = "aether.dependencyCollector.bf.lazyRanges";
+
+    /**
+     * The default value for {@link #CONFIG_PROP_LAZY_RANGES}, {@code false}.
+     *
+     * @since 1.9.9
+     */
+    static final boolean CONFIG_PROP_LAZY_RANGES_DEFAULT = false;
+
     /**
      * Default ctor for SL.
      *
@@ -120,7 +148,8 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
         // enables default constructor
     }
 
-    @Inject
+    private ExecutorProvider executorProvider;
+
     BfDependencyCollector(
             RemoteRepositoryManager remoteRepositoryManager,
             ArtifactDescriptorReader artifactDescriptorReader,
@@ -128,6 +157,43 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
         super(remoteRepositoryManager, artifactDescriptorReader, versionRangeResolver);
     }
 
+    @Inject
+    BfDependencyCollector(
+            RemoteRepositoryManager remoteRepositoryManager,
+            ArtifactDescriptorReader artifactDescriptorReader,
+            VersionRangeResolver versionRangeResolver,
+            ExecutorProvider executorProvider) {
+        super(remoteRepositoryManager, artifactDescriptorReader, versionRangeResolver);
+        setExecutorProvider(executorProvider);
+    }
+
+    @Override
+    public void initService(ServiceLocator locator) {
+        super.initService(locator);
+        this.executorProvider = locator.getService(ExecutorProvider.class);
+    }
+
+    /**
+     * Sets the executor provider to use for this component.
+     *
+     * @param executorProvider The executor provider to use, must not be {@code null}.
+     * @return This component for chaining, never {@code null}.
+     * @since 1.9.9
+     */
+    public BfDependencyCollector setExecutorProvider(ExecutorProvider executorProvider) {
+        this.executorProvider = requireNonNull(executorProvider, "executor provider cannot be null");
+        return this;
+    }
+
+    /**
+     * With skipper enabled, pooled child lists contain duplicate and loser nodes left without children, so they are
+     * complete only along with the rest of the graph they were collected in.
+     */
+    @Override
+    protected boolean isReusableGraph(RepositorySystemSession session) {
+        return !ConfigUtils.getBoolean(session, CONFIG_PROP_SKIPPER_DEFAULT, CONFIG_PROP_SKIPPER);
+    }
+
     @SuppressWarnings("checkstyle:parameternumber")
     @Override
     protected void doCollectDependencies(
@@ -151,10 +217,11 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
         }
 
         try (DependencyResolutionSkipper skipper = useSkip
-                        ? DependencyResolutionSkipper.defaultSkipper()
+                        ? DependencyResolutionSkipper.defaultSkipper(results.getStats())
                         : DependencyResolutionSkipper.neverSkipper();
-                ParallelDescriptorResolver parallelDescriptorResolver = new ParallelDescriptorResolver(nThreads)) {
-            Args args = new Args(session, pool, context, versionContext, request, skipper, parallelDescriptorResolver);
+                ParallelDescriptorResolver parallelDescriptorResolver =
+                        new ParallelDescriptorResolver(newExecutor(session, nThreads))) {
+            Args args = new Args(session, pool, context, request, skipper, parallelDescriptorResolver);
 
             DependencySelector rootDepSelector = session.getDependencySelector() != null
                     ? session.getDependencySelector().deriveChildSelector(context)
@@ -215,12 +282,15 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
         Future<DescriptorResolutionResult> resolutionResultFuture = args.resolver.find(dependency.getArtifact());
         DescriptorResolutionResult resolutionResult;
         VersionRangeResult rangeResult;
+        long start = System.nanoTime();
         try {
             resolutionResult = resolutionResultFuture.get();
             rangeResult = resolutionResult.rangeResult;
         } catch (Exception e) {
             results.addException(dependency, e, context.parents);
             return;
+        } finally {
+            results.getStats().futureWaited(System.nanoTime() - start);
         }
 
         Set<Version> versions = resolutionResult.descriptors.keySet();
@@ -240,6 +310,7 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
                         DefaultDependencyNode child = createDependencyNode(
                                 relocations, preManaged, rangeResult, version, d, descriptorResult, cycleNode);
                         context.getParent().getChildren().add(child);
+                        results.getStats().nodeCreated();
                         continue;
                     }
                 }
@@ -293,14 +364,21 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
                             repos,
                             args.request.getRequestContext());
 
-                    context.getParent().getChildren().add(child);
+                    List<DependencyNode> siblings = context.getParent().getChildren();
+                    int index = siblings.size();
+                    siblings.add(child);
+                    results.getStats().nodeCreated();
+                    if (args.nodeListener != null) {
+                        args.nodeListener.nodeCollected(child, context.parents);
+                    }
 
                     boolean recurse =
                             traverse && !descriptorResult.getDependencies().isEmpty();
                     DependencyProcessingContext parentContext = context.withDependency(d);
                     if (recurse) {
-                        doRecurse(args, parentContext, descriptorResult, child, results, disableVersionManagement);
-                    } else if (!args.skipper.skipResolution(child, parentContext.parents)) {
+                        doRecurse(
+                                args, parentContext, descriptorResult, child, index, results, disableVersionManagement);
+                    } else if (!skipResolution(args, results, child, index, parentContext.parents)) {
                         List<DependencyNode> parents = new ArrayList<>(parentContext.parents.size() + 1);
                         parents.addAll(parentContext.parents);
                         parents.add(child);
@@ -320,6 +398,7 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
                         repos,
                         args.request.getRequestContext());
                 context.getParent().getChildren().add(child);
+                results.getStats().nodeCreated();
             }
         }
     }
@@ -330,19 +409,26 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
             DependencyProcessingContext parentContext,
             ArtifactDescriptorResult descriptorResult,
             DefaultDependencyNode child,
+            int index,
             Results results,
             boolean disableVersionManagement) {
         DefaultDependencyCollectionContext context = args.collectionContext;
         context.set(parentContext.dependency, descriptorResult.getManagedDependencies());
 
-        DependencySelector childSelector =
-                parentContext.depSelector != null ? parentContext.depSelector.deriveChildSelector(context) : null;
-        DependencyManager childManager =
-                parentContext.depManager != null ? parentContext.depManager.deriveChildManager(context) : null;
-        DependencyTraverser childTraverser =
-                parentContext.depTraverser != null ? parentContext.depTraverser.deriveChildTraverser(context) : null;
-        VersionFilter childFilter =
-                parentContext.verFilter != null ? parentContext.verFilter.deriveChildFilter(context) : null;
+        long start = System.nanoTime();
+        DependencySelector childSelector = parentContext.depSelector != null
+                ? args.pool.intern(parentContext.depSelector.deriveChildSelector(context))
+                : null;
+        DependencyManager childManager = parentContext.depManager != null
+                ? args.pool.intern(parentContext.depManager.deriveChildManager(context))
+                : null;
+        DependencyTraverser childTraverser = parentContext.depTraverser != null
+                ? args.pool.intern(parentContext.depTraverser.deriveChildTraverser(context))
+                : null;
+        VersionFilter childFilter = parentContext.verFilter != null
+                ? args.pool.intern(parentContext.verFilter.deriveChildFilter(context))
+                : null;
+        results.getStats().derived(System.nanoTime() - start);
 
         final List<RemoteRepository> childRepos = args.ignoreRepos
                 ? parentContext.repositories
@@ -359,7 +445,7 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
 
         List<DependencyNode> children = args.pool.getChildren(key);
         if (children == null) {
-            boolean skipResolution = args.skipper.skipResolution(child, parentContext.parents);
+            boolean skipResolution = skipResolution(args, results, child, index, parentContext.parents);
             if (!skipResolution) {
                 List<DependencyNode> parents = new ArrayList<>(parentContext.parents.size() + 1);
                 parents.addAll(parentContext.parents);
@@ -392,6 +478,17 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
             }
         } else {
             child.setChildren(children);
+            results.getStats().subtreeReused();
+        }
+    }
+
+    private boolean skipResolution(
+            Args args, Results results, DependencyNode node, int index, List<DependencyNode> parents) {
+        long start = System.nanoTime();
+        try {
+            return args.skipper.skipResolution(node, index, parents);
+        } finally {
+            results.getStats().skipperDecided(System.nanoTime() - start);
         }
     }
 
@@ -404,23 +501,32 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
         args.resolver.resolveDescriptors(dependency.getArtifact(), () -> {
             VersionRangeRequest rangeRequest = createVersionRangeRequest(
                     args.request.getRequestContext(), context.trace, context.repositories, dependency);
-            VersionRangeResult rangeResult = cachedResolveRangeResult(rangeRequest, args.pool, args.session);
-            List<? extends Version> versions =
-                    filterVersions(dependency, rangeResult, context.verFilter, args.versionContext);
+            VersionRangeResult rangeResult =
+                    cachedResolveRangeResult(rangeRequest, args.pool, args.session, results.getStats());
+            // ranges are resolved and filtered concurrently, hence filter context cannot be shared
+            List<? extends Version> versions = filterVersions(
+                    dependency, rangeResult, context.verFilter, new DefaultVersionFilterContext(args.session));
 
             // resolve newer version first to maximize benefits of skipper
             Collections.reverse(versions);
 
             Map<Version, ArtifactDescriptorResult> descriptors = new ConcurrentHashMap<>(versions.size());
-            Stream<? extends Version> stream = versions.size() > 1 ? versions.parallelStream() : versions.stream();
-            stream.forEach(version -> Optional.ofNullable(
-                            resolveDescriptorForVersion(args, context, results, dependency, version))
-                    .ifPresent(r -> descriptors.put(version, r)));
+            if (args.lazyRanges && rangeResult.getVersions().size() > 1) {
+                versions =
+                        resolveFirstDescriptor(args, context, results, dependency, rangeResult, versions, descriptors);
+            } else {
+                Stream<? extends Version> stream = versions.size() > 1 ? versions.parallelStream() : versions.stream();
+                stream.forEach(version -> Optional.ofNullable(
+                                resolveDescriptorForVersion(args, context, results, dependency, version, true))
+                        .ifPresent(r -> descriptors.put(version, r)));
+            }
 
             DescriptorResolutionResult resolutionResult =
                     new DescriptorResolutionResult(dependency.getArtifact(), rangeResult);
             // keep original sequence
-            versions.forEach(version -> resolutionResult.descriptors.put(version, descriptors.get(version)));
+            for (Version version : versions) {
+                resolutionResult.descriptors.put(version, descriptors.get(version));
+            }
             // populate for versions in version range
             resolutionResult.flatten().forEach(dr -> args.resolver.cacheVersionRangeDescriptor(dr.artifact, dr));
 
@@ -428,8 +534,87 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
         });
     }
 
+    /**
+     * Reads descriptors of candidate versions one by one, until one is found, and returns the list of that single
+     * version. Candidates are ordered by the version filter: first the passed in versions it accepted out of the whole
+     * range, newest first, then the versions it accepts out of the remaining versions of the range, and so on, until
+     * it accepts none. Failures are neither reported nor pooled, except for the last candidate, if none of the
+     * candidates have descriptor.
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    private List<? extends Version> resolveFirstDescriptor(
+            Args args,
+            DependencyProcessingContext context,
+            Results results,
+            Dependency dependency,
+            VersionRangeResult rangeResult,
+            List<? extends Version> versions,
+            Map<Version, ArtifactDescriptorResult> descriptors) {
+        List<Version> remaining = new ArrayList<>(rangeResult.getVersions());
+        List<? extends Version> candidates = versions;
+        Version last = null;
+        while (!candidates.isEmpty()) {
+            for (Version version : candidates) {
+                ArtifactDescriptorResult descriptor =
+                        resolveDescriptorForVersion(args, context, results, dependency, version, false);
+                if (descriptor != null) {
+                    descriptors.put(version, descriptor);
+                    return Collections.singletonList(version);
+                }
+                last = version;
+            }
+            remaining.removeAll(candidates);
+            candidates = nextCandidates(args.session, context.verFilter, dependency, rangeResult, remaining);
+        }
+
+        // as unreported failures are not pooled, this reads the descriptor again, now reporting the failure
+        ArtifactDescriptorResult descriptor =
+                resolveDescriptorForVersion(args, context, results, dependency, last, true);
+        if (descriptor != null) {
+            descriptors.put(last, descriptor);
+        }
+        return Collections.singletonList(last);
+    }
+
+    /**
+     * Returns the versions the version filter accepts out of the remaining versions of the range, newest first.
+     */
+    private static List<Version> nextCandidates(
+            RepositorySystemSession session,
+            VersionFilter verFilter,
+            Dependency dependency,
+            VersionRangeResult rangeResult,
+            List<Version> remaining) {
+        if (verFilter == null || remaining.isEmpty()) {
+            // without filter, all the versions were candidates already
+            return Collections.emptyList();
+        }
+        VersionRangeResult remainingResult = new VersionRangeResult(rangeResult.getRequest());
+        remainingResult.setVersionConstraint(rangeResult.getVersionConstraint());
+        for (Version version : remaining) {
+            remainingResult.addVersion(version);
+            remainingResult.setRepository(version, rangeResult.getRepository(version));
+        }
+        DefaultVersionFilterContext verContext = new DefaultVersionFilterContext(session);
+        verContext.set(dependency, remainingResult);
+        try {
+            verFilter.filterVersions(verContext);
+        } catch (RepositoryException e) {
+            return Collections.emptyList();
+        }
+        List<Version> candidates = verContext.get();
+        Collections.reverse(candidates);
+        return candidates;
+    }
+
+    @SuppressWarnings("checkstyle:parameternumber")
     private ArtifactDescriptorResult resolveDescriptorForVersion(
-            Args args, DependencyProcessingContext context, Results results, Dependency dependency, Version version) {
+            Args args,
+            DependencyProcessingContext context,
+            Results results,
+            Dependency dependency,
+            Version version,
+            boolean reportFailure) {
         Artifact original = dependency.getArtifact();
         Artifact newArtifact = new DefaultArtifact(
                 original.getGroupId(),
@@ -448,7 +633,12 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
         return isLackingDescriptor(newArtifact)
                 ? new ArtifactDescriptorResult(descriptorRequest)
                 : resolveCachedArtifactDescriptor(
-                        args.pool, descriptorRequest, args.session, newContext.withDependency(newDependency), results);
+                        args.pool,
+                        descriptorRequest,
+                        args.session,
+                        newContext.withDependency(newDependency),
+                        results,
+                        reportFailure);
     }
 
     private ArtifactDescriptorResult resolveCachedArtifactDescriptor(
@@ -456,17 +646,24 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
             ArtifactDescriptorRequest descriptorRequest,
             RepositorySystemSession session,
             DependencyProcessingContext context,
-            Results results) {
+            Results results,
+            boolean reportFailure) {
         Object key = pool.toKey(descriptorRequest);
         ArtifactDescriptorResult descriptorResult = pool.getDescriptor(key, descriptorRequest);
         if (descriptorResult == null) {
+            long start = System.nanoTime();
             try {
                 descriptorResult = descriptorReader.readArtifactDescriptor(session, descriptorRequest);
                 pool.putDescriptor(key, descriptorResult);
             } catch (ArtifactDescriptorException e) {
-                results.addException(context.dependency, e, context.parents);
-                pool.putDescriptor(key, e);
+                // pooled failures are not reported again, hence unreported failures must not be pooled
+                if (reportFailure) {
+                    results.addException(context.dependency, e, context.parents);
+                    pool.putDescriptor(key, e);
+                }
                 return null;
+            } finally {
+                results.getStats().descriptorRead(System.nanoTime() - start);
             }
 
         } else if (descriptorResult == DataPool.NO_DESCRIPTOR) {
@@ -476,20 +673,30 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
         return descriptorResult;
     }
 
+    private Executor newExecutor(RepositorySystemSession session, int threads) {
+        if (executorProvider != null) {
+            return executorProvider.getExecutor(session, threads);
+        }
+        return ExecutorUtils.executor(threads, ParallelDescriptorResolver.class.getSimpleName() + "-");
+    }
+
     static class ParallelDescriptorResolver implements Closeable {
-        private final ExecutorService executorService;
+        private final Executor executor;
 
         /**
          * Artifact ID -> Future of DescriptorResolutionResult
          */
         private final Map<String, Future<DescriptorResolutionResult>> results = new ConcurrentHashMap<>(256);
 
-        ParallelDescriptorResolver(int threads) {
-            this.executorService = ExecutorUtils.threadPool(threads, getClass().getSimpleName() + "-");
+        ParallelDescriptorResolver(Executor executor) {
+            this.executor = executor;
         }
 
         void resolveDescriptors(Artifact artifact, Callable<DescriptorResolutionResult> callable) {
-            results.computeIfAbsent(ArtifactIdUtils.toId(artifact), key -> this.executorService.submit(callable));
+            FutureTask<DescriptorResolutionResult> task = new FutureTask<>(callable);
+            if (results.putIfAbsent(ArtifactIdUtils.toId(artifact), task) == null) {
+                executor.execute(task);
+            }
         }
 
         void cacheVersionRangeDescriptor(Artifact artifact, DescriptorResolutionResult resolutionResult) {
@@ -502,7 +709,7 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
 
         @Override
         public void close() {
-            executorService.shutdown();
+            ExecutorUtils.shutdown(executor);
         }
     }
 
@@ -577,25 +784,26 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
 
         final boolean premanagedState;
 
+        final boolean lazyRanges;
+
         final DataPool pool;
 
         final Queue<DependencyProcessingContext> dependencyProcessingQueue = new ArrayDeque<>(128);
 
         final DefaultDependencyCollectionContext collectionContext;
 
-        final DefaultVersionFilterContext versionContext;
-
         final CollectRequest request;
 
         final DependencyResolutionSkipper skipper;
 
         final ParallelDescriptorResolver resolver;
 
+        final CollectedNodeListener nodeListener;
+
         Args(
                 RepositorySystemSession session,
                 DataPool pool,
                 DefaultDependencyCollectionContext collectionContext,
-                DefaultVersionFilterContext versionContext,
                 CollectRequest request,
                 DependencyResolutionSkipper skipper,
                 ParallelDescriptorResolver resolver) {
@@ -603,11 +811,12 @@ public class BfDependencyCollector extends DependencyCollectorDelegate implement
             this.request = request;
             this.ignoreRepos = session.isIgnoreArtifactDescriptorRepositories();
             this.premanagedState = ConfigUtils.getBoolean(session, false, DependencyManagerUtils.CONFIG_PROP_VERBOSE);
+            this.lazyRanges = ConfigUtils.getBoolean(session, CONFIG_PROP_LAZY_RANGES_DEFAULT, CONFIG_PROP_LAZY_RANGES);
             this.pool = pool;
             this.collectionContext = collectionContext;
-            this.versionContext = versionContext;
             this.skipper = skipper;
             this.resolver = resolver;
+            this.nodeListener = CollectedNodeListener.get(session);
         }
     }
 }
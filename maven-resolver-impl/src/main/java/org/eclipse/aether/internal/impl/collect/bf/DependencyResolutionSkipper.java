@@ -19,14 +19,17 @@
 package org.eclipse.aether.internal.impl.collect.bf;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Set;
 
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.internal.impl.collect.CollectStats;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,11 +45,12 @@ abstract class DependencyResolutionSkipper implements Closeable {
      * Check whether the resolution of current node can be skipped before resolving.
      *
      * @param node    Current node
+     * @param index   Index of current node among the children of its parent, as recorded when the node was created
      * @param parents All parent nodes of current node
      *
      * @return {@code true} if the node can be skipped for resolution, {@code false} if resolution required.
      */
-    abstract boolean skipResolution(DependencyNode node, List<DependencyNode> parents);
+    abstract boolean skipResolution(DependencyNode node, int index, List<DependencyNode> parents);
 
     /**
      * Cache the resolution result when a node is resolved by {@link BfDependencyCollector) after resolution.
@@ -68,7 +72,16 @@ abstract class DependencyResolutionSkipper implements Closeable {
      * Note: type is specialized for testing purposes.
      */
     public static DefaultDependencyResolutionSkipper defaultSkipper() {
-        return new DefaultDependencyResolutionSkipper();
+        return defaultSkipper(new CollectStats());
+    }
+
+    /**
+     * Returns new instance of "default" skipper, recording its decisions into passed in stats.
+     *
+     * @since 1.9.9
+     */
+    public static DefaultDependencyResolutionSkipper defaultSkipper(CollectStats stats) {
+        return new DefaultDependencyResolutionSkipper(stats);
     }
 
     /**
@@ -85,7 +98,7 @@ abstract class DependencyResolutionSkipper implements Closeable {
         private static final DependencyResolutionSkipper INSTANCE = new NeverDependencyResolutionSkipper();
 
         @Override
-        public boolean skipResolution(DependencyNode node, List<DependencyNode> parents) {
+        public boolean skipResolution(DependencyNode node, int index, List<DependencyNode> parents) {
             return false;
         }
 
@@ -98,27 +111,36 @@ abstract class DependencyResolutionSkipper implements Closeable {
 
     /**
      * Visible for testing.
+     * <p>
+     * This implementation is not thread safe, and its decisions depend on the nodes seen before: nodes must be
+     * presented level by level, in breadth-first order, as {@link BfDependencyCollector} does. Node coordinates are
+     * derived from the position of the node in the graph (the rank of its parent on the previous level and its index
+     * among its siblings), hence the results are ordered the same way whatever the order of nodes within a level was.
      */
     static final class DefaultDependencyResolutionSkipper extends DependencyResolutionSkipper {
         private static final Logger LOGGER = LoggerFactory.getLogger(DependencyResolutionSkipper.class);
 
-        private final Map<DependencyNode, DependencyResolutionResult> results = new LinkedHashMap<>(256);
+        private final Map<DependencyNode, DependencyResolutionResult> results = new HashMap<>(256);
         private final CacheManager cacheManager = new CacheManager();
         private final CoordinateManager coordinateManager = new CoordinateManager();
+        private final CollectStats stats;
+
+        DefaultDependencyResolutionSkipper(CollectStats stats) {
+            this.stats = stats;
+        }
 
         @Override
-        public boolean skipResolution(DependencyNode node, List<DependencyNode> parents) {
+        public boolean skipResolution(DependencyNode node, int index, List<DependencyNode> parents) {
             DependencyResolutionResult result = new DependencyResolutionResult(node);
-            results.put(node, result);
 
-            int depth = parents.size() + 1;
-            coordinateManager.createCoordinate(node, depth);
+            Coordinate coordinate = coordinateManager.createCoordinate(node, index, parents);
 
             if (cacheManager.isVersionConflict(node)) {
                 /*
                  * Skip resolving version conflict losers (omitted for conflict)
                  */
                 result.skippedAsVersionConflict = true;
+                stats.nodeSkippedAsVersionConflict();
                 if (LOGGER.isTraceEnabled()) {
                     LOGGER.trace(
                             "Skipped resolving node: {} as version conflict", ArtifactIdUtils.toId(node.getArtifact()));
@@ -131,6 +153,7 @@ abstract class DependencyResolutionSkipper implements Closeable {
                      * This is because Maven picks the widest scope present among conflicting dependencies
                      */
                     result.forceResolution = true;
+                    stats.nodeForceResolved();
                     if (LOGGER.isTraceEnabled()) {
                         LOGGER.trace(
                                 "Force resolving node: {} for scope selection",
@@ -142,6 +165,7 @@ abstract class DependencyResolutionSkipper implements Closeable {
                      * No need to compare depth as the depth of winner for given artifact is always shallower
                      */
                     result.skippedAsDuplicate = true;
+                    stats.nodeSkippedAsDuplicate();
                     if (LOGGER.isTraceEnabled()) {
                         LOGGER.trace(
                                 "Skipped resolving node: {} as duplicate", ArtifactIdUtils.toId(node.getArtifact()));
@@ -154,8 +178,10 @@ abstract class DependencyResolutionSkipper implements Closeable {
                 }
             }
 
+            results.put(node, result);
+
             if (result.toResolve()) {
-                coordinateManager.updateLeftmost(node);
+                coordinateManager.updateLeftmost(node, coordinate);
                 return false;
             }
 
@@ -164,8 +190,14 @@ abstract class DependencyResolutionSkipper implements Closeable {
 
         @Override
         public void cache(DependencyNode node, List<DependencyNode> parents) {
-            boolean parentForceResolution =
-                    parents.stream().anyMatch(n -> results.containsKey(n) && results.get(n).forceResolution);
+            boolean parentForceResolution = false;
+            for (DependencyNode parent : parents) {
+                DependencyResolutionResult result = results.get(parent);
+                if (result != null && result.forceResolution) {
+                    parentForceResolution = true;
+                    break;
+                }
+            }
             if (parentForceResolution) {
                 if (LOGGER.isTraceEnabled()) {
                     LOGGER.trace(
@@ -183,37 +215,43 @@ abstract class DependencyResolutionSkipper implements Closeable {
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace(
                         "Skipped {} nodes as duplicate",
-                        results.entrySet().stream()
-                                .filter(n -> n.getValue().skippedAsDuplicate)
+                        results.values().stream()
+                                .filter(n -> n.skippedAsDuplicate)
                                 .count());
                 LOGGER.trace(
                         "Skipped {} nodes as having version conflict",
-                        results.entrySet().stream()
-                                .filter(n -> n.getValue().skippedAsVersionConflict)
+                        results.values().stream()
+                                .filter(n -> n.skippedAsVersionConflict)
                                 .count());
                 LOGGER.trace(
                         "Resolved {} nodes",
-                        results.entrySet().stream()
-                                .filter(n -> n.getValue().resolve)
-                                .count());
+                        results.values().stream().filter(n -> n.resolve).count());
                 LOGGER.trace(
                         "Forced resolving {} nodes for scope selection",
-                        results.entrySet().stream()
-                                .filter(n -> n.getValue().forceResolution)
-                                .count());
+                        results.values().stream().filter(n -> n.forceResolution).count());
             }
         }
 
+        /**
+         * Returns the results ordered by node coordinates, that is in breadth-first order.
+         */
         public Map<DependencyNode, DependencyResolutionResult> getResults() {
-            return results;
+            List<DependencyNode> nodes = new ArrayList<>(results.keySet());
+            nodes.sort((n1, n2) ->
+                    Coordinate.compare(coordinateManager.getCoordinate(n1), coordinateManager.getCoordinate(n2)));
+            Map<DependencyNode, DependencyResolutionResult> ordered = new LinkedHashMap<>(nodes.size());
+            for (DependencyNode node : nodes) {
+                ordered.put(node, results.get(node));
+            }
+            return ordered;
         }
 
         private static final class CacheManager {
 
             /**
-             * artifact -> node
+             * artifacts of winners
              */
-            private final Map<Artifact, DependencyNode> winners = new HashMap<>(256);
+            private final Set<Artifact> winners = new HashSet<>(256);
 
             /**
              * versionLessId -> Artifact, only cache winners
@@ -221,78 +259,124 @@ abstract class DependencyResolutionSkipper implements Closeable {
             private final Map<String, Artifact> winnerGAs = new HashMap<>(256);
 
             boolean isVersionConflict(DependencyNode node) {
-                String ga = ArtifactIdUtils.toVersionlessId(node.getArtifact());
-                if (winnerGAs.containsKey(ga)) {
-                    Artifact result = winnerGAs.get(ga);
-                    return !node.getArtifact().getVersion().equals(result.getVersion());
+                Artifact winner = winnerGAs.get(ArtifactIdUtils.toVersionlessId(node.getArtifact()));
+                if (winner != null) {
+                    return !node.getArtifact().getVersion().equals(winner.getVersion());
                 }
 
                 return false;
             }
 
             void cacheWinner(DependencyNode node) {
-                winners.put(node.getArtifact(), node);
+                winners.add(node.getArtifact());
                 winnerGAs.put(ArtifactIdUtils.toVersionlessId(node.getArtifact()), node.getArtifact());
             }
 
             boolean isDuplicate(DependencyNode node) {
-                return winners.containsKey(node.getArtifact());
+                return winners.contains(node.getArtifact());
             }
         }
 
         private static final class CoordinateManager {
-            private final Map<Integer, AtomicInteger> sequenceGen = new HashMap<>(256);
-
             /**
              * Dependency node -> Coordinate
              */
             private final Map<DependencyNode, Coordinate> coordinateMap = new HashMap<>(256);
 
             /**
-             * Leftmost coordinate of given artifact
+             * Coordinate of last resolved node of given artifact
              */
             private final Map<Artifact, Coordinate> leftmostCoordinates = new HashMap<>(256);
 
+            /**
+             * Coordinates created on the current level, to be ranked once the next level is entered
+             */
+            private final List<Coordinate> level = new ArrayList<>();
+
+            private int depth;
+
             Coordinate getCoordinate(DependencyNode node) {
                 return coordinateMap.get(node);
             }
 
-            Coordinate createCoordinate(DependencyNode node, int depth) {
-                int seq = sequenceGen
-                        .computeIfAbsent(depth, k -> new AtomicInteger())
-                        .incrementAndGet();
-                Coordinate coordinate = new Coordinate(depth, seq);
+            Coordinate createCoordinate(DependencyNode node, int index, List<DependencyNode> parents) {
+                int nodeDepth = parents.size() + 1;
+                if (nodeDepth != depth) {
+                    rankLevel();
+                    depth = nodeDepth;
+                }
+                int parentRank = 0;
+                if (!parents.isEmpty()) {
+                    Coordinate parent = coordinateMap.get(parents.get(parents.size() - 1));
+                    if (parent != null) {
+                        parentRank = parent.rank;
+                    }
+                }
+                Coordinate coordinate = new Coordinate(nodeDepth, parentRank, index);
                 coordinateMap.put(node, coordinate);
+                level.add(coordinate);
                 return coordinate;
             }
 
-            void updateLeftmost(DependencyNode current) {
-                leftmostCoordinates.put(current.getArtifact(), getCoordinate(current));
+            /**
+             * Ranks the coordinates of the current level, all of them are known as the next level is entered.
+             */
+            private void rankLevel() {
+                level.sort(Coordinate::compare);
+                for (int i = 0; i < level.size(); i++) {
+                    level.get(i).rank = i;
+                }
+                level.clear();
+            }
+
+            void updateLeftmost(DependencyNode current, Coordinate coordinate) {
+                leftmostCoordinates.put(current.getArtifact(), coordinate);
             }
 
             boolean isLeftmost(DependencyNode node, List<DependencyNode> parents) {
                 Coordinate leftmost = leftmostCoordinates.get(node.getArtifact());
                 if (leftmost != null && leftmost.depth <= parents.size()) {
                     DependencyNode sameLevelNode = parents.get(leftmost.depth - 1);
-                    return getCoordinate(sameLevelNode).sequence < leftmost.sequence;
+                    return Coordinate.compare(getCoordinate(sameLevelNode), leftmost) < 0;
                 }
 
                 return false;
             }
         }
 
+        /**
+         * The position of a node in breadth-first order: nodes are ordered by depth first, and then by the rank of
+         * their parents on the previous level and their index among siblings.
+         */
         private static final class Coordinate {
-            int depth;
-            int sequence;
+            final int depth;
+            final int parentRank;
+            final int index;
+
+            /**
+             * The position of the node on its level, assigned once the whole level is known.
+             */
+            int rank;
 
-            Coordinate(int depth, int sequence) {
+            Coordinate(int depth, int parentRank, int index) {
                 this.depth = depth;
-                this.sequence = sequence;
+                this.parentRank = parentRank;
+                this.index = index;
+            }
+
+            static int compare(Coordinate c1, Coordinate c2) {
+                if (c1.depth != c2.depth) {
+                    return Integer.compare(c1.depth, c2.depth);
+                }
+                if (c1.parentRank != c2.parentRank) {
+                    return Integer.compare(c1.parentRank, c2.parentRank);
+                }
+                return Integer.compare(c1.index, c2.index);
             }
 
             @Override
             public String toString() {
-                return "{" + "depth=" + depth + ", sequence=" + sequence + '}';
+                return "{" + "depth=" + depth + ", parentRank=" + parentRank + ", index=" + index + '}';
             }
         }
     }
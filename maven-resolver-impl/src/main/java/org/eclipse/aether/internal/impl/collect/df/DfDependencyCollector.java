@@ -41,7 +41,6 @@ import org.eclipse.aether.impl.RemoteRepositoryManager;
 import org.eclipse.aether.impl.VersionRangeResolver;
 import org.eclipse.aether.internal.impl.collect.DataPool;
 import org.eclipse.aether.internal.impl.collect.DefaultDependencyCollectionContext;
-import org.eclipse.aether.internal.impl.collect.DefaultDependencyCycle;
 import org.eclipse.aether.internal.impl.collect.DefaultVersionFilterContext;
 import org.eclipse.aether.internal.impl.collect.DependencyCollectorDelegate;
 import org.eclipse.aether.internal.impl.collect.PremanagedDependency;
@@ -199,7 +198,7 @@ public class DfDependencyCollector extends DependencyCollectorDelegate implement
             VersionRangeRequest rangeRequest =
                     createVersionRangeRequest(args.request.getRequestContext(), trace, repositories, dependency);
 
-            rangeResult = cachedResolveRangeResult(rangeRequest, args.pool, args.session);
+            rangeResult = cachedResolveRangeResult(rangeRequest, args.pool, args.session, results.getStats());
 
             versions = filterVersions(dependency, rangeResult, verFilter, args.versionContext);
         } catch (VersionRangeResolutionException e) {
@@ -221,7 +220,7 @@ public class DfDependencyCollector extends DependencyCollectorDelegate implement
 
                 DependencyNode node = args.nodes.top();
 
-                int cycleEntry = DefaultDependencyCycle.find(args.nodes.nodes, d.getArtifact());
+                int cycleEntry = args.nodes.find(d.getArtifact());
                 if (cycleEntry >= 0) {
                     results.addCycle(args.nodes.nodes, cycleEntry, d);
                     DependencyNode cycleNode = args.nodes.get(cycleEntry);
@@ -229,6 +228,7 @@ public class DfDependencyCollector extends DependencyCollectorDelegate implement
                         DefaultDependencyNode child = createDependencyNode(
                                 relocations, preManaged, rangeResult, version, d, descriptorResult, cycleNode);
                         node.getChildren().add(child);
+                        results.getStats().nodeCreated();
                         continue;
                     }
                 }
@@ -270,6 +270,7 @@ public class DfDependencyCollector extends DependencyCollectorDelegate implement
                             args.request.getRequestContext());
 
                     node.getChildren().add(child);
+                    results.getStats().nodeCreated();
 
                     boolean recurse =
                             traverse && !descriptorResult.getDependencies().isEmpty();
@@ -301,6 +302,7 @@ public class DfDependencyCollector extends DependencyCollectorDelegate implement
                         repos,
                         args.request.getRequestContext());
                 node.getChildren().add(child);
+                results.getStats().nodeCreated();
             }
         }
     }
@@ -321,10 +323,15 @@ public class DfDependencyCollector extends DependencyCollectorDelegate implement
         DefaultDependencyCollectionContext context = args.collectionContext;
         context.set(d, descriptorResult.getManagedDependencies());
 
-        DependencySelector childSelector = depSelector != null ? depSelector.deriveChildSelector(context) : null;
-        DependencyManager childManager = depManager != null ? depManager.deriveChildManager(context) : null;
-        DependencyTraverser childTraverser = depTraverser != null ? depTraverser.deriveChildTraverser(context) : null;
-        VersionFilter childFilter = verFilter != null ? verFilter.deriveChildFilter(context) : null;
+        long start = System.nanoTime();
+        DependencySelector childSelector =
+                depSelector != null ? args.pool.intern(depSelector.deriveChildSelector(context)) : null;
+        DependencyManager childManager =
+                depManager != null ? args.pool.intern(depManager.deriveChildManager(context)) : null;
+        DependencyTraverser childTraverser =
+                depTraverser != null ? args.pool.intern(depTraverser.deriveChildTraverser(context)) : null;
+        VersionFilter childFilter = verFilter != null ? args.pool.intern(verFilter.deriveChildFilter(context)) : null;
+        results.getStats().derived(System.nanoTime() - start);
 
         final List<RemoteRepository> childRepos = args.ignoreRepos
                 ? repositories
@@ -354,6 +361,7 @@ public class DfDependencyCollector extends DependencyCollectorDelegate implement
             args.nodes.pop();
         } else {
             child.setChildren(children);
+            results.getStats().subtreeReused();
         }
     }
 
@@ -378,6 +386,7 @@ public class DfDependencyCollector extends DependencyCollectorDelegate implement
         Object key = pool.toKey(descriptorRequest);
         ArtifactDescriptorResult descriptorResult = pool.getDescriptor(key, descriptorRequest);
         if (descriptorResult == null) {
+            long start = System.nanoTime();
             try {
                 descriptorResult = descriptorReader.readArtifactDescriptor(session, descriptorRequest);
                 pool.putDescriptor(key, descriptorResult);
@@ -385,6 +394,8 @@ public class DfDependencyCollector extends DependencyCollectorDelegate implement
                 results.addException(d, e, args.nodes.nodes);
                 pool.putDescriptor(key, e);
                 return null;
+            } finally {
+                results.getStats().descriptorRead(System.nanoTime() - start);
             }
 
         } else if (descriptorResult == DataPool.NO_DESCRIPTOR) {
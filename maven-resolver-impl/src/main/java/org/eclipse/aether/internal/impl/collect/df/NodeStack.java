@@ -19,8 +19,13 @@
 package org.eclipse.aether.internal.impl.collect.df;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
 
+import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.internal.impl.collect.DefaultDependencyCycle;
 
 /**
  * Internal helper for {@link DfDependencyCollector}. Originally (pre-1.8.0) this same class was located a
@@ -33,8 +38,29 @@ final class NodeStack {
     @SuppressWarnings({"checkstyle:magicnumber"})
     // CHECKSTYLE_OFF: MagicNumber
     ArrayList<DependencyNode> nodes = new ArrayList<>(96);
+
+    /**
+     * Per position: the position of the previous node with same key (or previous node without artifact), or -1 if
+     * none.
+     */
+    private int[] previous = new int[96];
     // CHECKSTYLE_ON: MagicNumber
 
+    /**
+     * Index of artifact keys (version ignored) to the position of the topmost node carrying such artifact.
+     */
+    private final HashMap<Key, Integer> index = new HashMap<>();
+
+    /**
+     * Per position: the key of the node at the position, or {@code null} if node has no artifact.
+     */
+    private final ArrayList<Key> keys = new ArrayList<>(nodes.size());
+
+    /**
+     * The position of the topmost node without artifact, or -1 if none.
+     */
+    private int topmostWithoutArtifact = -1;
+
     public DependencyNode top() {
         if (nodes.isEmpty()) {
             throw new IllegalStateException("stack empty");
@@ -43,14 +69,40 @@ final class NodeStack {
     }
 
     public void push(DependencyNode node) {
+        int position = nodes.size();
         nodes.add(node);
+        if (position == previous.length) {
+            previous = Arrays.copyOf(previous, position * 2);
+        }
+        Artifact artifact = node.getArtifact();
+        if (artifact != null) {
+            Key key = new Key(artifact);
+            keys.add(key);
+            Integer prev = index.put(key, position);
+            previous[position] = prev != null ? prev : -1;
+        } else {
+            keys.add(null);
+            previous[position] = topmostWithoutArtifact;
+            topmostWithoutArtifact = position;
+        }
     }
 
     public void pop() {
         if (nodes.isEmpty()) {
             throw new IllegalStateException("stack empty");
         }
-        nodes.remove(nodes.size() - 1);
+        int position = nodes.size() - 1;
+        nodes.remove(position);
+        Key key = keys.remove(position);
+        if (key != null) {
+            if (previous[position] >= 0) {
+                index.put(key, previous[position]);
+            } else {
+                index.remove(key);
+            }
+        } else {
+            topmostWithoutArtifact = previous[position];
+        }
     }
 
     public int size() {
@@ -61,8 +113,62 @@ final class NodeStack {
         return nodes.get(index);
     }
 
+    /**
+     * Searches for a node associated with the given artifact, in constant time. Has same semantics as
+     * {@link DefaultDependencyCycle#find(java.util.List, Artifact)}: the version of the artifact is not considered,
+     * and the search stops at the topmost node without artifact.
+     *
+     * @return the index of the topmost node associated with the given artifact, or {@literal -1} if there is no such
+     * node.
+     * @since 1.9.9
+     */
+    public int find(Artifact artifact) {
+        Integer position = index.get(new Key(artifact));
+        return position != null && position > topmostWithoutArtifact ? position : -1;
+    }
+
     @Override
     public String toString() {
         return nodes.toString();
     }
+
+    private static final class Key {
+        private final String groupId;
+
+        private final String artifactId;
+
+        private final String extension;
+
+        private final String classifier;
+
+        private final int hashCode;
+
+        Key(Artifact artifact) {
+            this.groupId = artifact.getGroupId();
+            this.artifactId = artifact.getArtifactId();
+            this.extension = artifact.getExtension();
+            this.classifier = artifact.getClassifier();
+            this.hashCode = Objects.hash(groupId, artifactId, extension, classifier);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return artifactId.equals(key.artifactId)
+                    && groupId.equals(key.groupId)
+                    && extension.equals(key.extension)
+                    && classifier.equals(key.classifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.spi.concurrency.ExecutorProvider;
+import org.eclipse.aether.util.concurrency.ExecutorUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultExecutorProviderTest {
+
+    private DefaultRepositorySystemLifecycle lifecycle;
+
+    private DefaultExecutorProvider provider;
+
+    private DefaultRepositorySystemSession session;
+
+    @Before
+    public void setup() {
+        lifecycle = new DefaultRepositorySystemLifecycle();
+        provider = new DefaultExecutorProvider(lifecycle);
+        session = TestUtils.newSession();
+    }
+
+    @After
+    public void teardown() {
+        lifecycle.systemEnded();
+    }
+
+    @Test
+    public void testDirectExecutorForSingleThread() {
+        assertSame(ExecutorUtils.DIRECT_EXECUTOR, provider.getExecutor(session, 1));
+    }
+
+    @Test
+    public void testConcurrencyLimited() throws InterruptedException {
+        int tasks = 50;
+        int maxConcurrency = 3;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(tasks);
+        Executor executor = provider.getExecutor(session, maxConcurrency);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue("max running: " + maxRunning.get(), maxRunning.get() <= maxConcurrency);
+    }
+
+    @Test
+    public void testExecutorsAreIndependent() throws InterruptedException {
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Executor first = provider.getExecutor(session, 2);
+        Executor second = provider.getExecutor(session, 2);
+        for (int i = 0; i < 2; i++) {
+            first.execute(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        second.execute(done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        blocker.countDown();
+    }
+
+    @Test
+    public void testFailingTaskDoesNotStopExecutor() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Executor executor = provider.getExecutor(session, 2);
+        executor.execute(() -> {
+            throw new IllegalStateException("expected");
+        });
+        executor.execute(done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, done.getCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testShutdownBySystemEnded() {
+        lifecycle.systemEnded();
+        provider.getExecutor(session, 2);
+    }
+
+    @Test
+    public void testPermitsSharedByKey() throws InterruptedException {
+        // stand-in for virtual threads, to not depend on Java runtime running the test
+        AtomicInteger threads = new AtomicInteger();
+        provider = new DefaultExecutorProvider(lifecycle, r -> {
+            threads.incrementAndGet();
+            return new Thread(r);
+        });
+        session.setConfigProperty(ExecutorProvider.CONFIG_PROP_VIRTUAL_THREADS, true);
+
+        int tasks = 20;
+        int maxConcurrency = 2;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(tasks);
+        Executor first = provider.getExecutor(session, "host", maxConcurrency);
+        Executor second = provider.getExecutor(session, "host", maxConcurrency);
+        for (int i = 0; i < tasks; i++) {
+            (i % 2 == 0 ? first : second).execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue("max running: " + maxRunning.get(), maxRunning.get() <= maxConcurrency);
+        assertEquals(tasks, threads.get());
+    }
+
+    @Test
+    public void testVirtualThreadsUnsupported() throws InterruptedException {
+        provider = new DefaultExecutorProvider(lifecycle, null);
+        session.setConfigProperty(ExecutorProvider.CONFIG_PROP_VIRTUAL_THREADS, true);
+
+        CountDownLatch done = new CountDownLatch(1);
+        provider.getExecutor(session, "host", 2).execute(done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -18,14 +18,31 @@
  */
 package org.eclipse.aether.internal.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.internal.impl.collect.bf.BfDependencyCollector;
 import org.eclipse.aether.internal.test.util.TestUtils;
 import org.eclipse.aether.repository.Authentication;
 import org.eclipse.aether.repository.Proxy;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.util.filter.PatternExclusionsDependencyFilter;
 import org.eclipse.aether.util.repository.AuthenticationBuilder;
 import org.eclipse.aether.util.repository.DefaultAuthenticationSelector;
 import org.eclipse.aether.util.repository.DefaultMirrorSelector;
@@ -106,4 +123,100 @@ public class DefaultRepositorySystemTest {
         assertSame(proxy, deployRepo.getProxy());
         assertSame(auth, deployRepo.getAuthentication());
     }
+
+    @Test
+    public void testResolveDependenciesPipelined() throws Exception {
+        RecordingArtifactResolver artifactResolver = setupResolveDependencies();
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_PIPELINED, true);
+
+        DependencyResult result = system.resolveDependencies(session, newDependencyRequest());
+        assertEquals(2, result.getArtifactResults().size());
+        assertEquals(
+                new HashSet<>(
+                        Arrays.asList(new DefaultArtifact("gid:aid:ext:ver"), new DefaultArtifact("gid:aid2:ext:ver"))),
+                new HashSet<>(artifactResolver.prefetched));
+        assertEquals(1, artifactResolver.batches.size());
+        assertEquals(2, artifactResolver.batches.get(0).size());
+    }
+
+    @Test
+    public void testResolveDependenciesPipelinedWithFilter() throws Exception {
+        RecordingArtifactResolver artifactResolver = setupResolveDependencies();
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_PIPELINED, true);
+
+        DependencyRequest request = newDependencyRequest();
+        request.setFilter(new PatternExclusionsDependencyFilter("gid:aid2"));
+        DependencyResult result = system.resolveDependencies(session, request);
+        assertEquals(1, result.getArtifactResults().size());
+        assertEquals(Collections.singletonList(new DefaultArtifact("gid:aid:ext:ver")), artifactResolver.prefetched);
+    }
+
+    @Test
+    public void testResolveDependenciesPipelinedPrefetchFailure() throws Exception {
+        RecordingArtifactResolver artifactResolver = setupResolveDependencies();
+        artifactResolver.failPrefetches = true;
+        session.setConfigProperty(DefaultRepositorySystem.CONFIG_PROP_PIPELINED, true);
+
+        // prefetching is best effort, its failures are left to the regular resolution
+        DependencyResult result = system.resolveDependencies(session, newDependencyRequest());
+        assertEquals(2, result.getArtifactResults().size());
+        assertEquals(1, artifactResolver.batches.size());
+    }
+
+    @Test
+    public void testResolveDependenciesNotPipelined() throws Exception {
+        RecordingArtifactResolver artifactResolver = setupResolveDependencies();
+
+        DependencyResult result = system.resolveDependencies(session, newDependencyRequest());
+        assertEquals(2, result.getArtifactResults().size());
+        assertTrue(artifactResolver.prefetched.isEmpty());
+    }
+
+    private RecordingArtifactResolver setupResolveDependencies() {
+        BfDependencyCollector collector = new BfDependencyCollector();
+        collector.setRemoteRepositoryManager(new StubRemoteRepositoryManager());
+        collector.setArtifactDescriptorReader(new IniArtifactDescriptorReader("artifact-descriptions/"));
+        collector.setVersionRangeResolver(new StubVersionRangeResolver());
+        RecordingArtifactResolver artifactResolver = new RecordingArtifactResolver();
+        system.setDependencyCollector(collector);
+        system.setArtifactResolver(artifactResolver);
+        return artifactResolver;
+    }
+
+    private DependencyRequest newDependencyRequest() {
+        RemoteRepository repository = new RemoteRepository.Builder("id", "default", "file:///").build();
+        CollectRequest collectRequest = new CollectRequest(
+                Collections.singletonList(new Dependency(new DefaultArtifact("gid:aid:ext:ver"), "compile")),
+                null,
+                Collections.singletonList(repository));
+        return new DependencyRequest(collectRequest, null);
+    }
+
+    private static class RecordingArtifactResolver implements ArtifactResolver {
+        private final List<Artifact> prefetched = new CopyOnWriteArrayList<>();
+
+        private final List<List<ArtifactRequest>> batches = new CopyOnWriteArrayList<>();
+
+        private volatile boolean failPrefetches;
+
+        @Override
+        public ArtifactResult resolveArtifact(RepositorySystemSession session, ArtifactRequest request) {
+            prefetched.add(request.getArtifact());
+            if (failPrefetches) {
+                throw new IllegalStateException("transport failure");
+            }
+            return new ArtifactResult(request).setArtifact(request.getArtifact());
+        }
+
+        @Override
+        public List<ArtifactResult> resolveArtifacts(
+                RepositorySystemSession session, Collection<? extends ArtifactRequest> requests) {
+            batches.add(new ArrayList<>(requests));
+            List<ArtifactResult> results = new ArrayList<>(requests.size());
+            for (ArtifactRequest request : requests) {
+                results.add(new ArtifactResult(request).setArtifact(request.getArtifact()));
+            }
+            return results;
+        }
+    }
 }
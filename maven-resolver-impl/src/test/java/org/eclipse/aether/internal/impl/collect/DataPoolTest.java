@@ -18,19 +18,43 @@
  */
 package org.eclipse.aether.internal.impl.collect;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencyManager;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.collection.DependencyTraverser;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.graph.manager.ClassicDependencyManager;
+import org.eclipse.aether.util.graph.selector.ScopeDependencySelector;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.Version;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class DataPoolTest {
 
@@ -76,4 +100,146 @@ public class DataPoolTest {
         Object key2 = pool.toKey(request);
         assertEquals(key1, key2);
     }
+
+    @Test
+    public void testComputeConstraintIfAbsentResolvesOnce() throws Exception {
+        VersionRangeRequest request = new VersionRangeRequest();
+        request.setRepositories(Collections.emptyList());
+        request.setArtifact(new DefaultArtifact("group:artifact:[1.0,2.0)"));
+
+        Version version = new GenericVersionScheme().parseVersion("1.5");
+        DataPool pool = newDataPool();
+        Object key = pool.toKey(request);
+        AtomicInteger resolutions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DataPool.ConstraintResolver resolver = () -> {
+            resolutions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            VersionRangeResult result = new VersionRangeResult(request);
+            result.addVersion(version);
+            return result;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<VersionRangeResult>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> pool.computeConstraintIfAbsent(key, request, resolver)));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> pool.computeConstraintIfAbsent(key, request, resolver)));
+            }
+            release.countDown();
+            for (Future<VersionRangeResult> future : futures) {
+                assertEquals(1, future.get(10, TimeUnit.SECONDS).getVersions().size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, resolutions.get());
+        assertNotNull(pool.getConstraint(key, request));
+    }
+
+    @Test
+    public void testComputeConstraintIfAbsentFailureNotCached() throws Exception {
+        VersionRangeRequest request = new VersionRangeRequest();
+        request.setRepositories(Collections.emptyList());
+        request.setArtifact(new DefaultArtifact("group:artifact:[1.0,2.0)"));
+
+        DataPool pool = newDataPool();
+        Object key = pool.toKey(request);
+        try {
+            pool.computeConstraintIfAbsent(key, request, () -> {
+                throw new VersionRangeResolutionException(new VersionRangeResult(request));
+            });
+            fail("expected exception");
+        } catch (VersionRangeResolutionException e) {
+            // expected
+        }
+        VersionRangeResult result = pool.computeConstraintIfAbsent(key, request, () -> new VersionRangeResult(request));
+        assertNotNull(result);
+    }
+
+    private DataPool newDataPool(String type, int maxSize) {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setConfigProperty("aether.dependencyCollector.pool.artifact", type);
+        session.setConfigProperty("aether.dependencyCollector.pool.artifact.maxSize", maxSize);
+        return new DataPool(session);
+    }
+
+    @Test
+    public void testSoftPoolInterns() {
+        DataPool pool = newDataPool("soft", 0);
+        DefaultArtifact artifact = new DefaultArtifact("gid:aid:1");
+        assertSame(artifact, pool.intern(artifact));
+        assertSame(artifact, pool.intern(new DefaultArtifact("gid:aid:1")));
+        assertEquals(1L, (long) pool.getPoolStatistics().get("artifact.hits"));
+        assertEquals(1L, (long) pool.getPoolStatistics().get("artifact.misses"));
+    }
+
+    @Test
+    public void testInternedVersionsShareProperties() {
+        DataPool pool = newDataPool("weak", 0);
+        Map<String, String> properties = Collections.singletonMap("key", "value");
+        Artifact v1 = pool.intern(new DefaultArtifact("gid", "aid", "", "jar", "1", properties, (File) null));
+        Artifact v2 = pool.intern(new DefaultArtifact("gid", "aid", "", "jar", "2", properties, (File) null));
+        assertEquals("2", v2.getVersion());
+        assertSame(v1.getProperties(), v2.getProperties());
+        assertSame(v2, pool.intern(new DefaultArtifact("gid", "aid", "", "jar", "2", properties, (File) null)));
+    }
+
+    @Test
+    public void testBoundedPoolEvicts() {
+        DataPool pool = newDataPool("bounded", 16);
+        List<Artifact> artifacts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            DefaultArtifact artifact = new DefaultArtifact("gid:aid:" + i);
+            Artifact pooled = pool.intern(artifact);
+            assertEquals(artifact, pooled);
+            artifacts.add(pooled);
+        }
+        Artifact last = artifacts.get(artifacts.size() - 1);
+        assertSame(last, pool.intern(new DefaultArtifact(last.toString())));
+
+        Map<String, Long> statistics = pool.getPoolStatistics();
+        assertEquals(1L, (long) statistics.get("artifact.hits"));
+        assertEquals(1000L, (long) statistics.get("artifact.misses"));
+        long evictions = statistics.get("artifact.evictions");
+        assertTrue("evictions: " + evictions, evictions >= 1000 - 16 * 16 && evictions < 1000);
+    }
+
+    @Test
+    public void testDerivedInterning() {
+        DataPool pool = newDataPool();
+        DependencySelector selector = new ScopeDependencySelector("test");
+        assertSame(selector, pool.intern(selector));
+        assertSame(selector, pool.intern(new ScopeDependencySelector("test")));
+        DependencyManager manager = new ClassicDependencyManager();
+        assertSame(manager, pool.intern(manager));
+        assertNull(pool.intern((DependencyTraverser) null));
+
+        Map<String, Long> statistics = pool.getPoolStatistics();
+        assertEquals(1L, (long) statistics.get("derived.hits"));
+        assertEquals(2L, (long) statistics.get("derived.misses"));
+
+        Object key1 = pool.toKey(new DefaultArtifact("gid:aid:1"), null, selector, manager, null, null);
+        Object key2 = pool.toKey(
+                new DefaultArtifact("gid:aid:1"),
+                null,
+                pool.intern(new ScopeDependencySelector("test")),
+                pool.intern(new ClassicDependencyManager()),
+                null,
+                null);
+        assertEquals(key1, key2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPoolType() {
+        newDataPool("unknown", 0);
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.eclipse.aether.internal.impl.collect;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -50,6 +51,8 @@ import org.eclipse.aether.internal.impl.IniArtifactDescriptorReader;
 import org.eclipse.aether.internal.test.util.DependencyGraphParser;
 import org.eclipse.aether.internal.test.util.TestUtils;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorException;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
 import org.eclipse.aether.resolution.ArtifactDescriptorResult;
@@ -58,6 +61,7 @@ import org.eclipse.aether.util.graph.manager.ClassicDependencyManager;
 import org.eclipse.aether.util.graph.manager.DefaultDependencyManager;
 import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
 import org.eclipse.aether.util.graph.manager.TransitiveDependencyManager;
+import org.eclipse.aether.util.graph.selector.ExclusionDependencySelector;
 import org.eclipse.aether.util.graph.transformer.ConflictResolver;
 import org.eclipse.aether.util.graph.transformer.JavaScopeDeriver;
 import org.eclipse.aether.util.graph.transformer.JavaScopeSelector;
@@ -184,6 +188,21 @@ public abstract class DependencyCollectorDelegateTestSupport {
         assertEquals(expect, root.getChildren().get(0).getDependency());
     }
 
+    @Test
+    public void testCollectionStats() throws IOException, DependencyCollectionException {
+        DependencyNode root = parser.parseResource("expectedSubtreeComparisonResult.txt");
+        CollectRequest request = new CollectRequest(root.getDependency(), singletonList(repository));
+        CollectResult result = collector.collectDependencies(session, request);
+
+        String prefix = collector.getClass().getSimpleName() + ".";
+        Map<String, Object> stats = result.getStats();
+        assertNotNull(stats.get(prefix + "collectTime"));
+        assertNotNull(stats.get(prefix + "transformTime"));
+        assertTrue((Long) stats.get(prefix + "descriptorReads") > 0L);
+        assertTrue((Long) stats.get(prefix + "nodesCreated") > 0L);
+        assertNotNull(stats.get("DataPool.descriptor.misses"));
+    }
+
     @Test
     public void testMissingDependencyDescription() {
         CollectRequest request = new CollectRequest(newDep("missing:description:ext:ver"), singletonList(repository));
@@ -238,6 +257,144 @@ public abstract class DependencyCollectorDelegateTestSupport {
         assertEqualSubtree(root, result.getRoot());
     }
 
+    @Test
+    public void testIncrementalCollection() throws IOException, DependencyCollectionException {
+        final IniArtifactDescriptorReader reader = newReader("");
+        final List<Artifact> reads = new ArrayList<>();
+        collector.setArtifactDescriptorReader(new ArtifactDescriptorReader() {
+            public ArtifactDescriptorResult readArtifactDescriptor(
+                    RepositorySystemSession session, ArtifactDescriptorRequest request)
+                    throws ArtifactDescriptorException {
+                reads.add(request.getArtifact());
+                return reader.readArtifactDescriptor(session, request);
+            }
+        });
+        session.setConfigProperty(DependencyCollectorDelegate.CONFIG_PROP_INCREMENTAL, true);
+
+        DependencyNode root = parser.parseResource("expectedSubtreeComparisonResult.txt");
+        CollectRequest request = new CollectRequest(root.getDependency(), singletonList(repository));
+        CollectResult previous = collector.collectDependencies(session, request);
+        assertEqualSubtree(root, previous.getRoot());
+        int fullReads = reads.size();
+
+        reads.clear();
+        CollectResult result = collector.collectDependencies(session, request, previous);
+        assertEqualSubtree(root, result.getRoot());
+        if (GraphSnapshot.get(previous, request) != null) {
+            assertTrue(reads.size() < fullReads);
+        } else {
+            // collector left pooled subgraphs incomplete, nothing to reuse
+            assertEquals(fullReads, reads.size());
+        }
+
+        // snapshot must survive being used, and must not be used for a different request context
+        reads.clear();
+        request.setRequestContext("other");
+        result = collector.collectDependencies(session, request, previous);
+        assertEqualSubtree(root, result.getRoot());
+        assertEquals(fullReads, reads.size());
+    }
+
+    @Test
+    public void testIncrementalCollectionSameAsFullCollection() throws DependencyCollectionException {
+        session.setConfigProperty(DependencyCollectorDelegate.CONFIG_PROP_INCREMENTAL, true);
+        // the exclusion makes subgraph of "duplicate:transitive" have keys of its own
+        session.setDependencySelector(new ExclusionDependencySelector());
+        Dependency dependency = newDep("duplicate:transitive:ext:dependency")
+                .setExclusions(singletonList(new Exclusion("gid", "none", "*", "*")));
+        Artifact rootArtifact = new DefaultArtifact("gid:root:ext:ver");
+
+        // the "gid:aid" child of "duplicate:transitive" is a duplicate of the direct one here...
+        CollectRequest request = new CollectRequest(
+                Arrays.asList(newDep("gid:aid:ext:ver"), dependency), null, singletonList(repository));
+        request.setRootArtifact(rootArtifact);
+        CollectResult previous = collector.collectDependencies(session, request);
+
+        // ...but not anymore here, so reused subgraph must be complete
+        request = new CollectRequest(singletonList(dependency), null, singletonList(repository));
+        request.setRootArtifact(rootArtifact);
+        CollectResult incremental = collector.collectDependencies(session, request, previous);
+        CollectResult full = collector.collectDependencies(session, request);
+
+        assertEquals(dump(full.getRoot()), dump(incremental.getRoot()));
+    }
+
+    @Test
+    public void testIncrementalCollectionWorkspacePomEdited() throws DependencyCollectionException {
+        session.setConfigProperty(DependencyCollectorDelegate.CONFIG_PROP_INCREMENTAL, true);
+        // lib:a -> ws:w (a release version resolved from workspace) -> whatever its POM currently says
+        Map<String, List<Dependency>> poms = new HashMap<>();
+        poms.put("lib:a", singletonList(newDep("ws:w:jar:1")));
+        poms.put("ws:w", singletonList(newDep("lib:b:jar:1")));
+        collector.setArtifactDescriptorReader((session, request) -> {
+            Artifact artifact = request.getArtifact();
+            ArtifactDescriptorResult result = new ArtifactDescriptorResult(request);
+            result.setArtifact(artifact);
+            result.setDependencies(
+                    poms.getOrDefault(artifact.getGroupId() + ':' + artifact.getArtifactId(), new ArrayList<>()));
+            return result;
+        });
+        session.setWorkspaceReader(new WorkspaceReader() {
+            @Override
+            public WorkspaceRepository getRepository() {
+                return new WorkspaceRepository();
+            }
+
+            @Override
+            public File findArtifact(Artifact artifact) {
+                return "ws".equals(artifact.getGroupId()) ? new File("pom.xml") : null;
+            }
+
+            @Override
+            public List<String> findVersions(Artifact artifact) {
+                return "ws".equals(artifact.getGroupId())
+                        ? singletonList(artifact.getVersion())
+                        : Collections.emptyList();
+            }
+        });
+
+        CollectRequest request = new CollectRequest(newDep("lib:a:jar:1"), singletonList(repository));
+        CollectResult previous = collector.collectDependencies(session, request);
+        assertEquals("lib:b:jar:1", path(previous.getRoot(), 0, 0).getArtifact().toString());
+
+        poms.put("ws:w", singletonList(newDep("lib:c:jar:1")));
+        CollectResult incremental = collector.collectDependencies(session, request, previous);
+        CollectResult full = collector.collectDependencies(session, request);
+
+        assertEquals("lib:c:jar:1", path(full.getRoot(), 0, 0).getArtifact().toString());
+        assertEquals(dump(full.getRoot()), dump(incremental.getRoot()));
+    }
+
+    @Test
+    public void testIncrementalCollectionReportsCycles() throws DependencyCollectionException {
+        session.setConfigProperty(DependencyCollectorDelegate.CONFIG_PROP_INCREMENTAL, true);
+        CollectRequest request = new CollectRequest(newDep("cycle:root:jar:1"), singletonList(repository));
+        CollectResult previous = collector.collectDependencies(session, request);
+
+        CollectResult incremental = collector.collectDependencies(session, request, previous);
+        CollectResult full = collector.collectDependencies(session, request);
+        assertEquals(full.getCycles().toString(), incremental.getCycles().toString());
+    }
+
+    private static String dump(DependencyNode node) {
+        StringBuilder buffer = new StringBuilder();
+        dump(node, "", buffer);
+        return buffer.toString();
+    }
+
+    private static void dump(DependencyNode node, String indent, StringBuilder buffer) {
+        buffer.append(indent)
+                .append(node.getArtifact())
+                .append(' ')
+                .append(node.getDependency() != null ? node.getDependency().getScope() : "")
+                .append(' ')
+                .append(node.getVersionConstraint())
+                .append('\n');
+        for (DependencyNode child : node.getChildren()) {
+            dump(child, indent + "  ", buffer);
+        }
+    }
+
     @Test
     public void testCyclicDependencies() throws Exception {
         DependencyNode root = parser.parseResource("cycle.txt");
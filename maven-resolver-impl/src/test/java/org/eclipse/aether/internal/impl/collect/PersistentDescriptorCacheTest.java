@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.internal.test.util.TestFileUtils;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PersistentDescriptorCacheTest {
+
+    private DefaultRepositorySystemSession session;
+
+    @Before
+    public void setup() {
+        session = TestUtils.newSession();
+        session.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_ENABLED, true);
+    }
+
+    private File pomFile(Artifact artifact) {
+        Artifact pom =
+                new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), "pom", artifact.getVersion());
+        return new File(
+                session.getLocalRepository().getBasedir(),
+                session.getLocalRepositoryManager().getPathForLocalArtifact(pom));
+    }
+
+    private ArtifactDescriptorResult newResult(ArtifactDescriptorRequest request) {
+        ArtifactDescriptorResult result = new ArtifactDescriptorResult(request);
+        result.setArtifact(new DefaultArtifact("gid:aid:2"));
+        result.addRelocation(request.getArtifact());
+        result.addDependency(new Dependency(
+                new DefaultArtifact("gid:dep:jar:tests:3"),
+                "compile",
+                true,
+                Collections.singleton(new Exclusion("gid", "*", "", "*"))));
+        result.addManagedDependency(new Dependency(new DefaultArtifact("gid:mdep:3"), "runtime"));
+        result.addRepository(new RemoteRepository.Builder("test", "default", "http://localhost")
+                .setSnapshotPolicy(new RepositoryPolicy(false, RepositoryPolicy.UPDATE_POLICY_NEVER, "fail"))
+                .build());
+        result.addAlias(new DefaultArtifact("gid:alias:4"));
+        result.setProperties(Collections.singletonMap("key", "value"));
+        return result;
+    }
+
+    private ArtifactDescriptorRequest newRequest(String coords) {
+        ArtifactDescriptorRequest request = new ArtifactDescriptorRequest();
+        request.setArtifact(new DefaultArtifact(coords));
+        return request;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ArtifactDescriptorRequest request = newRequest("gid:aid:1");
+        TestFileUtils.writeString(pomFile(request.getArtifact()), "<project/>");
+        ArtifactDescriptorResult result = newResult(request);
+
+        DataPool pool = new DataPool(session);
+        pool.putDescriptor(pool.toKey(request), result);
+
+        pool = new DataPool(session);
+        ArtifactDescriptorResult cached = pool.getDescriptor(pool.toKey(request), request);
+        assertNotNull(cached);
+        assertEquals(result.getArtifact(), cached.getArtifact());
+        assertEquals(result.getRelocations(), cached.getRelocations());
+        assertEquals(result.getDependencies(), cached.getDependencies());
+        assertEquals(result.getManagedDependencies(), cached.getManagedDependencies());
+        assertEquals(result.getRepositories(), cached.getRepositories());
+        assertEquals(
+                result.getRepositories().get(0).getPolicy(true).isEnabled(),
+                cached.getRepositories().get(0).getPolicy(true).isEnabled());
+        assertEquals(result.getAliases(), cached.getAliases());
+
+        // the pool does not carry descriptor properties, but the persistent cache does
+        cached = PersistentDescriptorCache.newInstance(session).get(session, request);
+        assertNotNull(cached);
+        assertEquals(result.getProperties(), cached.getProperties());
+    }
+
+    @Test
+    public void testKeyedByEnvironment() throws IOException {
+        ArtifactDescriptorRequest request = newRequest("gid:aid:1");
+        TestFileUtils.writeString(pomFile(request.getArtifact()), "<project/>");
+
+        DataPool pool = new DataPool(session);
+        pool.putDescriptor(pool.toKey(request), newResult(request));
+
+        session.setUserProperty("some.property", "value");
+        pool = new DataPool(session);
+        assertNull(pool.getDescriptor(pool.toKey(request), request));
+
+        session.setUserProperty("some.property", null);
+        pool = new DataPool(session);
+        assertNotNull(pool.getDescriptor(pool.toKey(request), request));
+    }
+
+    @Test
+    public void testResultsWithExceptionsNotPersisted() throws IOException {
+        ArtifactDescriptorRequest request = newRequest("gid:aid:1");
+        TestFileUtils.writeString(pomFile(request.getArtifact()), "<project/>");
+
+        DataPool pool = new DataPool(session);
+        pool.putDescriptor(pool.toKey(request), newResult(request).addException(new IOException("parent missing")));
+
+        pool = new DataPool(session);
+        assertNull(pool.getDescriptor(pool.toKey(request), request));
+    }
+
+    @Test
+    public void testWorkspaceArtifactsNotPersisted() throws IOException {
+        ArtifactDescriptorRequest request = newRequest("gid:aid:1");
+        File pom = pomFile(request.getArtifact());
+        TestFileUtils.writeString(pom, "<project/>");
+        session.setWorkspaceReader(new WorkspaceReader() {
+            @Override
+            public WorkspaceRepository getRepository() {
+                return new WorkspaceRepository();
+            }
+
+            @Override
+            public File findArtifact(Artifact artifact) {
+                return pom;
+            }
+
+            @Override
+            public List<String> findVersions(Artifact artifact) {
+                return Collections.singletonList(artifact.getVersion());
+            }
+        });
+
+        DataPool pool = new DataPool(session);
+        pool.putDescriptor(pool.toKey(request), newResult(request));
+
+        session.setWorkspaceReader(null);
+        pool = new DataPool(session);
+        assertNull(pool.getDescriptor(pool.toKey(request), request));
+    }
+
+    @Test
+    public void testInvalidatedByPomChange() throws IOException {
+        ArtifactDescriptorRequest request = newRequest("gid:aid:1");
+        File pom = pomFile(request.getArtifact());
+        TestFileUtils.writeString(pom, "<project/>");
+
+        DataPool pool = new DataPool(session);
+        pool.putDescriptor(pool.toKey(request), newResult(request));
+
+        TestFileUtils.writeString(pom, "<project><modelVersion>4.0.0</modelVersion></project>");
+        pool = new DataPool(session);
+        assertNull(pool.getDescriptor(pool.toKey(request), request));
+    }
+
+    @Test
+    public void testSnapshotsNotPersisted() throws IOException {
+        ArtifactDescriptorRequest request = newRequest("gid:aid:1-SNAPSHOT");
+        TestFileUtils.writeString(pomFile(request.getArtifact()), "<project/>");
+
+        DataPool pool = new DataPool(session);
+        pool.putDescriptor(pool.toKey(request), newResult(request));
+
+        pool = new DataPool(session);
+        assertNull(pool.getDescriptor(pool.toKey(request), request));
+    }
+
+    @Test
+    public void testMissingPomNotPersisted() {
+        ArtifactDescriptorRequest request = newRequest("gid:aid:1");
+
+        DataPool pool = new DataPool(session);
+        pool.putDescriptor(pool.toKey(request), newResult(request));
+
+        pool = new DataPool(session);
+        assertNull(pool.getDescriptor(pool.toKey(request), request));
+    }
+
+    @Test
+    public void testFingerprintIgnoresUnlistedSystemProperties() {
+        session.setSystemProperty("env.PWD", "/one");
+        String fingerprint = PersistentDescriptorCache.fingerprint(session);
+        session.setSystemProperty("env.PWD", "/two");
+        assertEquals(fingerprint, PersistentDescriptorCache.fingerprint(session));
+
+        session.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_SYSTEM_PROPERTIES, "other, env.PWD");
+        assertNotEquals(fingerprint, PersistentDescriptorCache.fingerprint(session));
+
+        session.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_SYSTEM_PROPERTIES, null);
+        session.setSystemProperty("os.name", "SomeOS");
+        assertNotEquals(fingerprint, PersistentDescriptorCache.fingerprint(session));
+    }
+
+    @Test
+    public void testStaleFingerprintsPruned() throws IOException {
+        Path root = TestFileUtils.createTempDir().toPath();
+        session.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_BASEDIR, root.toString());
+        Path stale = Files.createDirectories(root.resolve("stale").resolve("gid"));
+        Path recent = Files.createDirectories(root.resolve("recent"));
+        Files.write(recent.resolve(".lastUsed"), new byte[0]);
+        Files.setLastModifiedTime(
+                stale.getParent(), FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(31)));
+
+        assertNotNull(PersistentDescriptorCache.newInstance(session));
+        assertFalse(Files.exists(stale.getParent()));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(root.resolve(PersistentDescriptorCache.fingerprint(session))));
+    }
+
+    @Test
+    public void testUnusableBasedirNotFatal() throws IOException {
+        File file = TestFileUtils.createTempFile("not a directory");
+        session.setConfigProperty(PersistentDescriptorCache.CONFIG_PROP_BASEDIR, file.getAbsolutePath());
+        assertNull(PersistentDescriptorCache.newInstance(session));
+    }
+}
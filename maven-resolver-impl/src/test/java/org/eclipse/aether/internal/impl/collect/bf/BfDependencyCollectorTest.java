@@ -22,6 +22,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
@@ -29,18 +31,24 @@ import org.eclipse.aether.collection.CollectResult;
 import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.internal.impl.IniArtifactDescriptorReader;
 import org.eclipse.aether.internal.impl.StubRemoteRepositoryManager;
 import org.eclipse.aether.internal.impl.StubVersionRangeResolver;
 import org.eclipse.aether.internal.impl.collect.DependencyCollectorDelegateTestSupport;
 import org.eclipse.aether.internal.test.util.DependencyGraphParser;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
 import org.eclipse.aether.util.graph.manager.TransitiveDependencyManager;
 import org.eclipse.aether.util.graph.selector.ExclusionDependencySelector;
+import org.eclipse.aether.util.graph.version.HighestVersionFilter;
 import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * UT for {@link BfDependencyCollector}.
@@ -104,4 +112,93 @@ public class BfDependencyCollectorTest extends DependencyCollectorDelegateTestSu
         // skipped
         assertEquals(0, path(result.getRoot(), 1).getChildren().size());
     }
+
+    @Test
+    public void testLazyRanges() throws DependencyCollectionException {
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_LAZY_RANGES, true);
+        IniArtifactDescriptorReader reader = newReader("lazy-ranges/");
+        Set<String> read = ConcurrentHashMap.newKeySet();
+        collector.setArtifactDescriptorReader((session, request) -> {
+            read.add(request.getArtifact().toString());
+            return reader.readArtifactDescriptor(session, request);
+        });
+
+        CollectRequest request = new CollectRequest(newDep("lazy:aid:ext:1", "compile"), Arrays.asList(repository));
+        CollectResult result = collector.collectDependencies(session, request);
+
+        // lazy:cid:ext:3 lacks descriptor, hence 2 is used, while 1 is never read
+        assertEquals(0, result.getExceptions().size());
+        assertEquals(2, result.getRoot().getChildren().size());
+        assertEquals("lazy:bid:ext:1", path(result.getRoot(), 0).getArtifact().toString());
+        assertEquals("lazy:cid:ext:2", path(result.getRoot(), 1).getArtifact().toString());
+        assertEquals(1, path(result.getRoot(), 0).getChildren().size());
+        assertEquals(
+                "lazy:cid:ext:2", path(result.getRoot(), 0, 0).getArtifact().toString());
+        assertTrue(read.contains("lazy:cid:ext:3"));
+        assertFalse(read.contains("lazy:cid:ext:1"));
+    }
+
+    @Test
+    public void testLazyRangesNoDescriptor() {
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_LAZY_RANGES, true);
+        collector.setArtifactDescriptorReader(newReader("lazy-ranges/"));
+
+        CollectRequest request = new CollectRequest(newDep("lazy:eid:ext:1", "compile"), Arrays.asList(repository));
+        try {
+            collector.collectDependencies(session, request);
+            fail("expected exception");
+        } catch (DependencyCollectionException e) {
+            // none of the versions has descriptor, only the failure of the oldest one is reported
+            CollectResult result = e.getResult();
+            assertEquals(1, result.getExceptions().size());
+            assertEquals(1, result.getRoot().getChildren().size());
+            assertEquals(
+                    "lazy:did:ext:1", path(result.getRoot(), 0).getArtifact().toString());
+        }
+    }
+
+    @Test
+    public void testLazyRangesFallBackByVersionFilter() throws DependencyCollectionException {
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_LAZY_RANGES, true);
+        session.setVersionFilter(new HighestVersionFilter());
+        IniArtifactDescriptorReader reader = newReader("lazy-ranges/");
+        Set<String> read = ConcurrentHashMap.newKeySet();
+        collector.setArtifactDescriptorReader((session, request) -> {
+            read.add(request.getArtifact().toString());
+            return reader.readArtifactDescriptor(session, request);
+        });
+
+        CollectRequest request = new CollectRequest(newDep("lazy:aid:ext:1", "compile"), Arrays.asList(repository));
+        CollectResult result = collector.collectDependencies(session, request);
+
+        // filter accepts only lazy:cid:ext:3 lacking descriptor, out of the remaining versions it accepts 2
+        assertEquals(0, result.getExceptions().size());
+        assertEquals("lazy:cid:ext:2", path(result.getRoot(), 1).getArtifact().toString());
+        assertEquals(
+                "lazy:cid:ext:2", path(result.getRoot(), 0, 0).getArtifact().toString());
+        assertFalse(read.contains("lazy:cid:ext:1"));
+    }
+
+    @Test
+    public void testLazyRangesUnreportedFailureNotPooled() {
+        session.setConfigProperty(BfDependencyCollector.CONFIG_PROP_LAZY_RANGES, true);
+        collector.setArtifactDescriptorReader(newReader("lazy-ranges/"));
+
+        CollectRequest request = new CollectRequest(newDep("lazy:fid:ext:1", "compile"), Arrays.asList(repository));
+        try {
+            collector.collectDependencies(session, request);
+            fail("expected exception");
+        } catch (DependencyCollectionException e) {
+            // failure of lazy:cid:ext:3 is not reported for the range, but must be for the plain dependency on it
+            CollectResult result = e.getResult();
+            assertEquals(1, result.getExceptions().size());
+            ArtifactDescriptorException failure =
+                    (ArtifactDescriptorException) result.getExceptions().get(0);
+            assertEquals(
+                    "lazy:cid:ext:3",
+                    failure.getResult().getRequest().getArtifact().toString());
+            assertEquals(
+                    "lazy:cid:ext:2", path(result.getRoot(), 0).getArtifact().toString());
+        }
+    }
 }
@@ -78,18 +78,18 @@ public class DependencyResolutionSkipperTest {
         // follow the BFS resolve sequence
         DependencyResolutionSkipper.DefaultDependencyResolutionSkipper skipper =
                 DependencyResolutionSkipper.defaultSkipper();
-        assertFalse(skipper.skipResolution(aNode, new ArrayList<>()));
+        assertFalse(skipper.skipResolution(aNode, 0, new ArrayList<>()));
         skipper.cache(aNode, new ArrayList<>());
-        assertFalse(skipper.skipResolution(bNode, mutableList(aNode)));
+        assertFalse(skipper.skipResolution(bNode, 0, mutableList(aNode)));
         skipper.cache(bNode, mutableList(aNode));
-        assertFalse(skipper.skipResolution(eNode, mutableList(aNode)));
+        assertFalse(skipper.skipResolution(eNode, 1, mutableList(aNode)));
         skipper.cache(eNode, mutableList(aNode));
-        assertFalse(skipper.skipResolution(c2Node, mutableList(aNode)));
+        assertFalse(skipper.skipResolution(c2Node, 2, mutableList(aNode)));
         skipper.cache(c2Node, mutableList(aNode));
-        assertTrue(skipper.skipResolution(c3Node, mutableList(aNode, bNode))); // version conflict
-        assertFalse(skipper.skipResolution(fNode, mutableList(aNode, eNode)));
+        assertTrue(skipper.skipResolution(c3Node, 0, mutableList(aNode, bNode))); // version conflict
+        assertFalse(skipper.skipResolution(fNode, 0, mutableList(aNode, eNode)));
         skipper.cache(fNode, mutableList(aNode, eNode));
-        assertFalse(skipper.skipResolution(gNode, mutableList(aNode, eNode, fNode)));
+        assertFalse(skipper.skipResolution(gNode, 0, mutableList(aNode, eNode, fNode)));
         skipper.cache(gNode, mutableList(aNode, eNode, fNode));
 
         Map<DependencyNode, DependencyResolutionSkipper.DependencyResolutionResult> results = skipper.getResults();
@@ -122,19 +122,19 @@ public class DependencyResolutionSkipperTest {
         // follow the BFS resolve sequence
         DependencyResolutionSkipper.DefaultDependencyResolutionSkipper skipper =
                 DependencyResolutionSkipper.defaultSkipper();
-        assertFalse(skipper.skipResolution(aNode, new ArrayList<>()));
+        assertFalse(skipper.skipResolution(aNode, 0, new ArrayList<>()));
         skipper.cache(aNode, new ArrayList<>());
-        assertFalse(skipper.skipResolution(bNode, mutableList(aNode)));
+        assertFalse(skipper.skipResolution(bNode, 0, mutableList(aNode)));
         skipper.cache(bNode, mutableList(aNode));
-        assertFalse(skipper.skipResolution(cNode, mutableList(aNode)));
+        assertFalse(skipper.skipResolution(cNode, 1, mutableList(aNode)));
         skipper.cache(cNode, mutableList(aNode));
-        assertFalse(skipper.skipResolution(dNode, mutableList(aNode)));
+        assertFalse(skipper.skipResolution(dNode, 2, mutableList(aNode)));
         skipper.cache(dNode, mutableList(aNode));
 
-        assertTrue(skipper.skipResolution(b1Node, mutableList(aNode, cNode)));
+        assertTrue(skipper.skipResolution(b1Node, 0, mutableList(aNode, cNode)));
         skipper.cache(b1Node, mutableList(aNode, cNode));
 
-        assertTrue(skipper.skipResolution(c1Node, mutableList(aNode, dNode)));
+        assertTrue(skipper.skipResolution(c1Node, 0, mutableList(aNode, dNode)));
         skipper.cache(c1Node, mutableList(aNode, dNode));
 
         Map<DependencyNode, DependencyResolutionSkipper.DependencyResolutionResult> results = skipper.getResults();
@@ -171,22 +171,22 @@ public class DependencyResolutionSkipperTest {
         // follow the BFS resolve sequence
         DependencyResolutionSkipper.DefaultDependencyResolutionSkipper skipper =
                 DependencyResolutionSkipper.defaultSkipper();
-        assertFalse(skipper.skipResolution(aNode, new ArrayList<>()));
+        assertFalse(skipper.skipResolution(aNode, 0, new ArrayList<>()));
         skipper.cache(aNode, new ArrayList<>());
-        assertFalse(skipper.skipResolution(bNode, mutableList(aNode)));
+        assertFalse(skipper.skipResolution(bNode, 0, mutableList(aNode)));
         skipper.cache(bNode, mutableList(aNode));
-        assertFalse(skipper.skipResolution(cNode, mutableList(aNode)));
+        assertFalse(skipper.skipResolution(cNode, 1, mutableList(aNode)));
         skipper.cache(cNode, mutableList(aNode));
-        assertFalse(skipper.skipResolution(dNode, mutableList(aNode)));
+        assertFalse(skipper.skipResolution(dNode, 2, mutableList(aNode)));
         skipper.cache(dNode, mutableList(aNode));
 
-        assertFalse(skipper.skipResolution(c1Node, mutableList(aNode, bNode)));
+        assertFalse(skipper.skipResolution(c1Node, 0, mutableList(aNode, bNode)));
         skipper.cache(c1Node, mutableList(aNode, bNode));
 
-        assertFalse(skipper.skipResolution(d1Node, mutableList(aNode, cNode)));
+        assertFalse(skipper.skipResolution(d1Node, 0, mutableList(aNode, cNode)));
         skipper.cache(d1Node, mutableList(aNode, cNode));
 
-        assertFalse(skipper.skipResolution(d2Node, mutableList(aNode, bNode, c1Node)));
+        assertFalse(skipper.skipResolution(d2Node, 0, mutableList(aNode, bNode, c1Node)));
         skipper.cache(d2Node, mutableList(aNode, bNode, c1Node));
 
         Map<DependencyNode, DependencyResolutionSkipper.DependencyResolutionResult> results = skipper.getResults();
@@ -201,4 +201,64 @@ public class DependencyResolutionSkipperTest {
         assertTrue(forceResolved.get(1).current == d1Node);
         assertTrue(forceResolved.get(2).current == d2Node);
     }
+
+    @Test
+    public void testResultsOrderedBreadthFirst() {
+        // A -> B
+        // |--> C -> B  => B here will be skipped
+        // |--> D -> C  => C here will be skipped
+        DependencyNode aNode = makeDependencyNode("some-group", "A", "1.0");
+        DependencyNode bNode = makeDependencyNode("some-group", "B", "1.0");
+        DependencyNode cNode = makeDependencyNode("some-group", "C", "1.0");
+        DependencyNode dNode = makeDependencyNode("some-group", "D", "1.0");
+        DependencyNode b1Node = new DefaultDependencyNode(bNode);
+        DependencyNode c1Node = new DefaultDependencyNode(cNode);
+
+        aNode.setChildren(mutableList(bNode, cNode, dNode));
+        bNode.setChildren(new ArrayList<>());
+        cNode.setChildren(mutableList(b1Node));
+        dNode.setChildren(mutableList(c1Node));
+
+        // same level nodes presented in reverse order
+        DependencyResolutionSkipper.DefaultDependencyResolutionSkipper skipper =
+                DependencyResolutionSkipper.defaultSkipper();
+        assertFalse(skipper.skipResolution(aNode, 0, new ArrayList<>()));
+        skipper.cache(aNode, new ArrayList<>());
+        assertFalse(skipper.skipResolution(dNode, 2, mutableList(aNode)));
+        skipper.cache(dNode, mutableList(aNode));
+        assertFalse(skipper.skipResolution(cNode, 1, mutableList(aNode)));
+        skipper.cache(cNode, mutableList(aNode));
+        assertFalse(skipper.skipResolution(bNode, 0, mutableList(aNode)));
+        skipper.cache(bNode, mutableList(aNode));
+
+        assertTrue(skipper.skipResolution(c1Node, 0, mutableList(aNode, dNode)));
+        assertTrue(skipper.skipResolution(b1Node, 0, mutableList(aNode, cNode)));
+
+        List<DependencyNode> ordered = new ArrayList<>(skipper.getResults().keySet());
+        assertEquals(Arrays.asList(aNode, bNode, cNode, dNode, b1Node, c1Node), ordered);
+    }
+
+    @Test
+    public void testDuplicateInstanceAmongSiblings() {
+        // A -> B
+        // |--> C
+        // |--> B  => same instance as first B, coordinate of first B is kept
+        DependencyNode aNode = makeDependencyNode("some-group", "A", "1.0");
+        DependencyNode bNode = makeDependencyNode("some-group", "B", "1.0");
+        DependencyNode cNode = makeDependencyNode("some-group", "C", "1.0");
+
+        aNode.setChildren(mutableList(bNode, cNode, bNode));
+
+        DependencyResolutionSkipper.DefaultDependencyResolutionSkipper skipper =
+                DependencyResolutionSkipper.defaultSkipper();
+        assertFalse(skipper.skipResolution(aNode, 0, new ArrayList<>()));
+        skipper.cache(aNode, new ArrayList<>());
+        assertFalse(skipper.skipResolution(bNode, 0, mutableList(aNode)));
+        skipper.cache(bNode, mutableList(aNode));
+        assertFalse(skipper.skipResolution(cNode, 1, mutableList(aNode)));
+        skipper.cache(cNode, mutableList(aNode));
+
+        List<DependencyNode> ordered = new ArrayList<>(skipper.getResults().keySet());
+        assertEquals(Arrays.asList(aNode, bNode, cNode), ordered);
+    }
 }
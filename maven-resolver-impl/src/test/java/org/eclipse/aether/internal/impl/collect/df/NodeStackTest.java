@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.internal.impl.collect.df;
+
+import java.util.Random;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.internal.impl.collect.DefaultDependencyCycle;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * UT for {@link NodeStack}.
+ */
+public class NodeStackTest {
+
+    private static DefaultDependencyNode node(String coords) {
+        return new DefaultDependencyNode(new Dependency(new DefaultArtifact(coords), "compile"));
+    }
+
+    @Test
+    public void testFind() {
+        NodeStack stack = new NodeStack();
+        stack.push(new DefaultDependencyNode((Artifact) null));
+        stack.push(node("gid:a:1"));
+        stack.push(node("gid:b:1"));
+        stack.push(node("gid:a:2"));
+
+        assertEquals(3, stack.find(new DefaultArtifact("gid:a:3")));
+        assertEquals(2, stack.find(new DefaultArtifact("gid:b:1")));
+        assertEquals(-1, stack.find(new DefaultArtifact("gid:a:jar:tests:1")));
+        assertEquals(-1, stack.find(new DefaultArtifact("gid:c:1")));
+
+        stack.pop();
+        assertEquals(1, stack.find(new DefaultArtifact("gid:a:3")));
+        stack.pop();
+        stack.pop();
+        assertEquals(-1, stack.find(new DefaultArtifact("gid:a:3")));
+    }
+
+    @Test
+    public void testFindStopsAtNodeWithoutArtifact() {
+        NodeStack stack = new NodeStack();
+        stack.push(node("gid:a:1"));
+        stack.push(new DefaultDependencyNode((Artifact) null));
+        stack.push(node("gid:b:1"));
+
+        assertEquals(-1, stack.find(new DefaultArtifact("gid:a:1")));
+        assertEquals(2, stack.find(new DefaultArtifact("gid:b:1")));
+
+        stack.pop();
+        stack.pop();
+        assertEquals(0, stack.find(new DefaultArtifact("gid:a:1")));
+    }
+
+    @Test
+    public void testFindSameAsLinearSearch() {
+        Random random = new Random(0L);
+        NodeStack stack = new NodeStack();
+        for (int i = 0; i < 10_000; i++) {
+            if (stack.size() > 0 && random.nextInt(3) == 0) {
+                stack.pop();
+            } else {
+                stack.push(node("gid:a" + random.nextInt(50) + ":" + i));
+            }
+            Artifact artifact = new DefaultArtifact("gid:a" + random.nextInt(50) + ":0");
+            assertEquals(DefaultDependencyCycle.find(stack.nodes, artifact), stack.find(artifact));
+        }
+    }
+
+    /**
+     * A deep chain of distinct artifacts, like generated module chains: every lookup used to scan whole stack.
+     */
+    @Test
+    public void testDeepChain() {
+        int depth = 20_000;
+        NodeStack stack = new NodeStack();
+        for (int i = 0; i < depth; i++) {
+            assertEquals(-1, stack.find(new DefaultArtifact("gid:a" + i + ":1")));
+            stack.push(node("gid:a" + i + ":1"));
+        }
+        assertEquals(0, stack.find(new DefaultArtifact("gid:a0:2")));
+        assertEquals(depth - 1, stack.find(new DefaultArtifact("gid:a" + (depth - 1) + ":2")));
+        for (int i = 0; i < depth; i++) {
+            stack.pop();
+        }
+        assertEquals(0, stack.size());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.spi.concurrency;
+
+import java.util.concurrent.Executor;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Component providing executors backed by threads shared by all components of the repository system, instead of
+ * creating (and tearing down) a thread pool per operation. The shared threads live as long as the repository
+ * system, and are released once it is shut down.
+ *
+ * @since 1.9.9
+ */
+public interface ExecutorProvider {
+    /**
+     * The key in the repository session's {@link RepositorySystemSession#getConfigProperties() configuration
+     * properties} used to store a {@link Boolean} flag whether tasks should run in virtual threads (one per task)
+     * instead of shared platform threads. Has effect only when running on Java 21 or newer, ignored otherwise.
+     *
+     * @see #getExecutor(RepositorySystemSession, String, int)
+     */
+    String CONFIG_PROP_VIRTUAL_THREADS = "aether.executor.virtualThreads";
+
+    /**
+     * The default value for {@link #CONFIG_PROP_VIRTUAL_THREADS}, {@code false}.
+     */
+    boolean CONFIG_PROP_VIRTUAL_THREADS_DEFAULT = false;
+
+    /**
+     * Returns an executor that runs at most {@code maxConcurrency} of the tasks submitted to it at once, and queues the
+     * rest. Concurrency limits of distinct returned executors are independent of each other. If
+     * {@code maxConcurrency} is less than 2, returned executor runs tasks directly in the calling thread.
+     * <p>
+     * The returned executor must not be shut down by the caller: once not needed anymore, it should just not be used
+     * anymore. Tasks already submitted will still be executed.
+     *
+     * @param session        The repository system session, never {@code null}.
+     * @param maxConcurrency The maximum count of tasks running at once.
+     * @return The executor, never {@code null}.
+     * @throws IllegalStateException if the repository system is already shut down.
+     */
+    Executor getExecutor(RepositorySystemSession session, int maxConcurrency);
+
+    /**
+     * Returns an executor like {@link #getExecutor(RepositorySystemSession, int)} does, except that when virtual
+     * threads are enabled (see {@link #CONFIG_PROP_VIRTUAL_THREADS}), the concurrency limit is shared by all executors
+     * returned for same {@code permitKey} (like a remote repository host), and not by thread count. The limit is
+     * established by the first caller asking for given key, and lives as long as the repository system.
+     *
+     * @param session        The repository system session, never {@code null}.
+     * @param permitKey      The key of the shared concurrency limit, never {@code null}.
+     * @param maxConcurrency The maximum count of tasks running at once.
+     * @return The executor, never {@code null}.
+     * @throws IllegalStateException if the repository system is already shut down.
+     */
+    Executor getExecutor(RepositorySystemSession session, String permitKey, int maxConcurrency);
+}
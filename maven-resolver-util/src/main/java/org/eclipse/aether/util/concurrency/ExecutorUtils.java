@@ -21,6 +21,7 @@ package org.eclipse.aether.util.concurrency;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -54,6 +55,25 @@ public final class ExecutorUtils {
                 new WorkerThreadFactory(namePrefix));
     }
 
+    /**
+     * Returns a thread factory creating virtual threads with given name prefix, or {@code null} if the Java runtime
+     * does not support virtual threads (Java 21 or newer is required). As this library targets older Java versions,
+     * virtual threads are accessed reflectively.
+     *
+     * @since 1.9.9
+     */
+    public static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // not supported, or preview feature not enabled (Java 19 and 20)
+            return null;
+        }
+    }
+
     /**
      * Returns {@link #DIRECT_EXECUTOR} or result of {@link #threadPool(int, String)} depending on value of
      * {@code size} parameter.
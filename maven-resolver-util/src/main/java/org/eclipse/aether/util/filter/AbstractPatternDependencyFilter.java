@@ -18,10 +18,13 @@
  */
 package org.eclipse.aether.util.filter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -30,7 +33,6 @@ import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyFilter;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.version.InvalidVersionSpecificationException;
-import org.eclipse.aether.version.Version;
 import org.eclipse.aether.version.VersionRange;
 import org.eclipse.aether.version.VersionScheme;
 
@@ -40,10 +42,17 @@ import static java.util.Objects.requireNonNull;
  */
 class AbstractPatternDependencyFilter implements DependencyFilter {
 
+    /**
+     * The number of artifact coordinates matched by a pattern: groupId, artifactId, extension and base version.
+     */
+    private static final int TOKENS = 4;
+
     private final Set<String> patterns = new HashSet<>();
 
     private final VersionScheme versionScheme;
 
+    private final Node root;
+
     /**
      * Creates a new filter using the specified patterns.
      *
@@ -85,6 +94,7 @@ class AbstractPatternDependencyFilter implements DependencyFilter {
             this.patterns.addAll(patterns);
         }
         this.versionScheme = versionScheme;
+        this.root = compile(this.patterns, versionScheme);
     }
 
     public boolean accept(final DependencyNode node, List<DependencyNode> parents) {
@@ -98,81 +108,153 @@ class AbstractPatternDependencyFilter implements DependencyFilter {
     }
 
     protected boolean accept(final Artifact artifact) {
-        for (final String pattern : patterns) {
-            final boolean matched = accept(artifact, pattern);
-            if (matched) {
-                return true;
-            }
-        }
-        return false;
+        return root.matches(artifact, 0);
     }
 
-    private boolean accept(final Artifact artifact, final String pattern) {
-        final String[] tokens = new String[] {
-            artifact.getGroupId(), artifact.getArtifactId(), artifact.getExtension(), artifact.getBaseVersion()
-        };
-
-        final String[] patternTokens = pattern.split(":");
+    /**
+     * Compiles the patterns into a trie of pattern tokens, with exact tokens looked up by hash and wildcard and range
+     * tokens checked by their precompiled matchers, so patterns are split and version ranges parsed only once.
+     */
+    private static Node compile(final Collection<String> patterns, final VersionScheme versionScheme) {
+        final Node root = new Node(null);
+        for (final String pattern : patterns) {
+            final String[] patternTokens = pattern.split(":");
 
-        // fail immediately if pattern tokens outnumber tokens to match
-        boolean matched = (patternTokens.length <= tokens.length);
+            // patterns with more tokens than the tokens to match never match
+            if (patternTokens.length > TOKENS) {
+                continue;
+            }
 
-        for (int i = 0; matched && i < patternTokens.length; i++) {
-            matched = matches(tokens[i], patternTokens[i]);
+            Node node = root;
+            for (final String patternToken : patternTokens) {
+                node = node.child(patternToken, versionScheme);
+            }
+            node.terminal = true;
         }
-
-        return matched;
+        return root;
     }
 
-    private boolean matches(final String token, final String pattern) {
-        boolean matches;
+    private static String token(final Artifact artifact, final int index) {
+        switch (index) {
+            case 0:
+                return artifact.getGroupId();
+            case 1:
+                return artifact.getArtifactId();
+            case 2:
+                return artifact.getExtension();
+            default:
+                return artifact.getBaseVersion();
+        }
+    }
 
+    private static TokenMatcher newMatcher(final String pattern, final VersionScheme versionScheme) {
         // support full wildcard and implied wildcard
         if ("*".equals(pattern) || pattern.length() == 0) {
-            matches = true;
+            return token -> true;
         }
         // support contains wildcard
         else if (pattern.startsWith("*") && pattern.endsWith("*")) {
             final String contains = pattern.substring(1, pattern.length() - 1);
-
-            matches = (token.contains(contains));
+            return token -> token.contains(contains);
         }
         // support leading wildcard
         else if (pattern.startsWith("*")) {
             final String suffix = pattern.substring(1);
-
-            matches = token.endsWith(suffix);
+            return token -> token.endsWith(suffix);
         }
         // support trailing wildcard
         else if (pattern.endsWith("*")) {
             final String prefix = pattern.substring(0, pattern.length() - 1);
-
-            matches = token.startsWith(prefix);
+            return token -> token.startsWith(prefix);
         }
         // support versions range
         else if (pattern.startsWith("[") || pattern.startsWith("(")) {
-            matches = isVersionIncludedInRange(token, pattern);
+            if (versionScheme == null) {
+                return token -> false;
+            }
+            try {
+                final VersionRange range = versionScheme.parseVersionRange(pattern);
+                return token -> isVersionIncludedInRange(versionScheme, token, range);
+            } catch (final InvalidVersionSpecificationException e) {
+                return token -> false;
+            }
         }
-        // support exact match
-        else {
-            matches = token.equals(pattern);
+        // exact match is handled by the trie itself
+        return null;
+    }
+
+    private static boolean isVersionIncludedInRange(
+            final VersionScheme versionScheme, final String version, final VersionRange range) {
+        try {
+            return range.containsVersion(versionScheme.parseVersion(version));
+        } catch (final InvalidVersionSpecificationException e) {
+            return false;
         }
+    }
 
-        return matches;
+    @FunctionalInterface
+    private interface TokenMatcher {
+        boolean matches(String token);
     }
 
-    private boolean isVersionIncludedInRange(final String version, final String range) {
-        if (versionScheme == null) {
-            return false;
-        } else {
-            try {
-                final Version parsedVersion = versionScheme.parseVersion(version);
-                final VersionRange parsedRange = versionScheme.parseVersionRange(range);
+    /**
+     * A node of the pattern trie, reached by matching the pattern token of the node.
+     */
+    private static final class Node {
+        private final String pattern;
 
-                return parsedRange.containsVersion(parsedVersion);
-            } catch (final InvalidVersionSpecificationException e) {
+        private TokenMatcher matcher;
+
+        private Map<String, Node> exact;
+
+        private final List<Node> wildcards = new ArrayList<>(0);
+
+        private boolean terminal;
+
+        Node(final String pattern) {
+            this.pattern = pattern;
+        }
+
+        Node child(final String patternToken, final VersionScheme versionScheme) {
+            final TokenMatcher childMatcher = newMatcher(patternToken, versionScheme);
+            if (childMatcher == null) {
+                if (exact == null) {
+                    exact = new HashMap<>();
+                }
+                return exact.computeIfAbsent(patternToken, Node::new);
+            }
+            for (final Node wildcard : wildcards) {
+                if (wildcard.pattern.equals(patternToken)) {
+                    return wildcard;
+                }
+            }
+            final Node child = new Node(patternToken);
+            child.matcher = childMatcher;
+            wildcards.add(child);
+            return child;
+        }
+
+        boolean matches(final Artifact artifact, final int index) {
+            if (terminal) {
+                return true;
+            }
+            if (index >= TOKENS) {
                 return false;
             }
+            final String token = token(artifact, index);
+            if (exact != null) {
+                final Node child = exact.get(token);
+                if (child != null && child.matches(artifact, index + 1)) {
+                    return true;
+                }
+            }
+            for (int i = 0, n = wildcards.size(); i < n; i++) {
+                final Node child = wildcards.get(i);
+                if (child.matcher.matches(token) && child.matches(artifact, index + 1)) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
 
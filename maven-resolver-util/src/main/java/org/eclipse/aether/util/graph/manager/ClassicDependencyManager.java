@@ -19,7 +19,6 @@
 package org.eclipse.aether.util.graph.manager;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -32,6 +31,7 @@ import org.eclipse.aether.collection.DependencyManager;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.Exclusion;
 import org.eclipse.aether.util.artifact.JavaScopes;
+import org.eclipse.aether.util.internal.PersistentHashMap;
 
 import static java.util.Objects.requireNonNull;
 
@@ -42,15 +42,15 @@ public final class ClassicDependencyManager implements DependencyManager {
 
     private final int depth;
 
-    private final Map<Object, String> managedVersions;
+    private final PersistentHashMap<Object, String> managedVersions;
 
-    private final Map<Object, String> managedScopes;
+    private final PersistentHashMap<Object, String> managedScopes;
 
-    private final Map<Object, Boolean> managedOptionals;
+    private final PersistentHashMap<Object, Boolean> managedOptionals;
 
-    private final Map<Object, String> managedLocalPaths;
+    private final PersistentHashMap<Object, String> managedLocalPaths;
 
-    private final Map<Object, Collection<Exclusion>> managedExclusions;
+    private final PersistentHashMap<Object, Collection<Exclusion>> managedExclusions;
 
     private int hashCode;
 
@@ -60,20 +60,20 @@ public final class ClassicDependencyManager implements DependencyManager {
     public ClassicDependencyManager() {
         this(
                 0,
-                Collections.<Object, String>emptyMap(),
-                Collections.<Object, String>emptyMap(),
-                Collections.<Object, Boolean>emptyMap(),
-                Collections.<Object, String>emptyMap(),
-                Collections.<Object, Collection<Exclusion>>emptyMap());
+                PersistentHashMap.<Object, String>empty(),
+                PersistentHashMap.<Object, String>empty(),
+                PersistentHashMap.<Object, Boolean>empty(),
+                PersistentHashMap.<Object, String>empty(),
+                PersistentHashMap.<Object, Collection<Exclusion>>empty());
     }
 
     private ClassicDependencyManager(
             int depth,
-            Map<Object, String> managedVersions,
-            Map<Object, String> managedScopes,
-            Map<Object, Boolean> managedOptionals,
-            Map<Object, String> managedLocalPaths,
-            Map<Object, Collection<Exclusion>> managedExclusions) {
+            PersistentHashMap<Object, String> managedVersions,
+            PersistentHashMap<Object, String> managedScopes,
+            PersistentHashMap<Object, Boolean> managedOptionals,
+            PersistentHashMap<Object, String> managedLocalPaths,
+            PersistentHashMap<Object, Collection<Exclusion>> managedExclusions) {
         this.depth = depth;
         this.managedVersions = managedVersions;
         this.managedScopes = managedScopes;
@@ -91,11 +91,11 @@ public final class ClassicDependencyManager implements DependencyManager {
                     depth + 1, managedVersions, managedScopes, managedOptionals, managedLocalPaths, managedExclusions);
         }
 
-        Map<Object, String> managedVersions = this.managedVersions;
-        Map<Object, String> managedScopes = this.managedScopes;
-        Map<Object, Boolean> managedOptionals = this.managedOptionals;
-        Map<Object, String> managedLocalPaths = this.managedLocalPaths;
-        Map<Object, Collection<Exclusion>> managedExclusions = this.managedExclusions;
+        PersistentHashMap<Object, String> managedVersions = this.managedVersions;
+        PersistentHashMap<Object, String> managedScopes = this.managedScopes;
+        PersistentHashMap<Object, Boolean> managedOptionals = this.managedOptionals;
+        PersistentHashMap<Object, String> managedLocalPaths = this.managedLocalPaths;
+        PersistentHashMap<Object, Collection<Exclusion>> managedExclusions = this.managedExclusions;
 
         for (Dependency managedDependency : context.getManagedDependencies()) {
             Artifact artifact = managedDependency.getArtifact();
@@ -103,43 +103,27 @@ public final class ClassicDependencyManager implements DependencyManager {
 
             String version = artifact.getVersion();
             if (version.length() > 0 && !managedVersions.containsKey(key)) {
-                if (managedVersions == this.managedVersions) {
-                    managedVersions = new HashMap<>(this.managedVersions);
-                }
-                managedVersions.put(key, version);
+                managedVersions = managedVersions.plus(key, version);
             }
 
             String scope = managedDependency.getScope();
             if (scope.length() > 0 && !managedScopes.containsKey(key)) {
-                if (managedScopes == this.managedScopes) {
-                    managedScopes = new HashMap<>(this.managedScopes);
-                }
-                managedScopes.put(key, scope);
+                managedScopes = managedScopes.plus(key, scope);
             }
 
             Boolean optional = managedDependency.getOptional();
             if (optional != null && !managedOptionals.containsKey(key)) {
-                if (managedOptionals == this.managedOptionals) {
-                    managedOptionals = new HashMap<>(this.managedOptionals);
-                }
-                managedOptionals.put(key, optional);
+                managedOptionals = managedOptionals.plus(key, optional);
             }
 
             String localPath = managedDependency.getArtifact().getProperty(ArtifactProperties.LOCAL_PATH, null);
             if (localPath != null && !managedLocalPaths.containsKey(key)) {
-                if (managedLocalPaths == this.managedLocalPaths) {
-                    managedLocalPaths = new HashMap<>(this.managedLocalPaths);
-                }
-                managedLocalPaths.put(key, localPath);
+                managedLocalPaths = managedLocalPaths.plus(key, localPath);
             }
 
             Collection<Exclusion> exclusions = managedDependency.getExclusions();
             if (!exclusions.isEmpty()) {
-                if (managedExclusions == this.managedExclusions) {
-                    managedExclusions = new HashMap<>(this.managedExclusions);
-                }
-                Collection<Exclusion> managed = managedExclusions.computeIfAbsent(key, k -> new LinkedHashSet<>());
-                managed.addAll(exclusions);
+                managedExclusions = addExclusions(managedExclusions, key, exclusions);
             }
         }
 
@@ -216,6 +200,23 @@ public final class ClassicDependencyManager implements DependencyManager {
         return new Key(a);
     }
 
+    /**
+     * Returns the managed exclusions with passed in exclusions merged into those of the key, never modifying the
+     * collections already present in the map, as those are shared with the managers derived from same parent.
+     */
+    private static PersistentHashMap<Object, Collection<Exclusion>> addExclusions(
+            PersistentHashMap<Object, Collection<Exclusion>> managedExclusions,
+            Object key,
+            Collection<Exclusion> exclusions) {
+        Collection<Exclusion> managed = managedExclusions.get(key);
+        Collection<Exclusion> merged = managed != null ? new LinkedHashSet<>(managed) : new LinkedHashSet<>();
+        merged.addAll(exclusions);
+        if (managed != null && merged.size() == managed.size()) {
+            return managedExclusions;
+        }
+        return managedExclusions.plus(key, merged);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
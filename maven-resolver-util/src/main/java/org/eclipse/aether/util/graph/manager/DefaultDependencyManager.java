@@ -19,7 +19,6 @@
 package org.eclipse.aether.util.graph.manager;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -33,6 +32,7 @@ import org.eclipse.aether.collection.DependencyManager;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.Exclusion;
 import org.eclipse.aether.util.artifact.JavaScopes;
+import org.eclipse.aether.util.internal.PersistentHashMap;
 
 import static java.util.Objects.requireNonNull;
 
@@ -49,15 +49,15 @@ import static java.util.Objects.requireNonNull;
  */
 public final class DefaultDependencyManager implements DependencyManager {
 
-    private final Map<Object, String> managedVersions;
+    private final PersistentHashMap<Object, String> managedVersions;
 
-    private final Map<Object, String> managedScopes;
+    private final PersistentHashMap<Object, String> managedScopes;
 
-    private final Map<Object, Boolean> managedOptionals;
+    private final PersistentHashMap<Object, Boolean> managedOptionals;
 
-    private final Map<Object, String> managedLocalPaths;
+    private final PersistentHashMap<Object, String> managedLocalPaths;
 
-    private final Map<Object, Collection<Exclusion>> managedExclusions;
+    private final PersistentHashMap<Object, Collection<Exclusion>> managedExclusions;
 
     private int hashCode;
 
@@ -66,19 +66,19 @@ public final class DefaultDependencyManager implements DependencyManager {
      */
     public DefaultDependencyManager() {
         this(
-                Collections.<Object, String>emptyMap(),
-                Collections.<Object, String>emptyMap(),
-                Collections.<Object, Boolean>emptyMap(),
-                Collections.<Object, String>emptyMap(),
-                Collections.<Object, Collection<Exclusion>>emptyMap());
+                PersistentHashMap.<Object, String>empty(),
+                PersistentHashMap.<Object, String>empty(),
+                PersistentHashMap.<Object, Boolean>empty(),
+                PersistentHashMap.<Object, String>empty(),
+                PersistentHashMap.<Object, Collection<Exclusion>>empty());
     }
 
     private DefaultDependencyManager(
-            final Map<Object, String> managedVersions,
-            final Map<Object, String> managedScopes,
-            final Map<Object, Boolean> managedOptionals,
-            final Map<Object, String> managedLocalPaths,
-            final Map<Object, Collection<Exclusion>> managedExclusions) {
+            final PersistentHashMap<Object, String> managedVersions,
+            final PersistentHashMap<Object, String> managedScopes,
+            final PersistentHashMap<Object, Boolean> managedOptionals,
+            final PersistentHashMap<Object, String> managedLocalPaths,
+            final PersistentHashMap<Object, Collection<Exclusion>> managedExclusions) {
         super();
         this.managedVersions = managedVersions;
         this.managedScopes = managedScopes;
@@ -89,11 +89,11 @@ public final class DefaultDependencyManager implements DependencyManager {
 
     public DependencyManager deriveChildManager(final DependencyCollectionContext context) {
         requireNonNull(context, "context cannot be null");
-        Map<Object, String> versions = this.managedVersions;
-        Map<Object, String> scopes = this.managedScopes;
-        Map<Object, Boolean> optionals = this.managedOptionals;
-        Map<Object, String> localPaths = this.managedLocalPaths;
-        Map<Object, Collection<Exclusion>> exclusions = this.managedExclusions;
+        PersistentHashMap<Object, String> versions = this.managedVersions;
+        PersistentHashMap<Object, String> scopes = this.managedScopes;
+        PersistentHashMap<Object, Boolean> optionals = this.managedOptionals;
+        PersistentHashMap<Object, String> localPaths = this.managedLocalPaths;
+        PersistentHashMap<Object, Collection<Exclusion>> exclusions = this.managedExclusions;
 
         for (Dependency managedDependency : context.getManagedDependencies()) {
             Artifact artifact = managedDependency.getArtifact();
@@ -101,42 +101,26 @@ public final class DefaultDependencyManager implements DependencyManager {
 
             String version = artifact.getVersion();
             if (version.length() > 0 && !versions.containsKey(key)) {
-                if (versions == this.managedVersions) {
-                    versions = new HashMap<>(this.managedVersions);
-                }
-                versions.put(key, version);
+                versions = versions.plus(key, version);
             }
 
             String scope = managedDependency.getScope();
             if (scope.length() > 0 && !scopes.containsKey(key)) {
-                if (scopes == this.managedScopes) {
-                    scopes = new HashMap<>(this.managedScopes);
-                }
-                scopes.put(key, scope);
+                scopes = scopes.plus(key, scope);
             }
 
             Boolean optional = managedDependency.getOptional();
             if (optional != null && !optionals.containsKey(key)) {
-                if (optionals == this.managedOptionals) {
-                    optionals = new HashMap<>(this.managedOptionals);
-                }
-                optionals.put(key, optional);
+                optionals = optionals.plus(key, optional);
             }
 
             String localPath = managedDependency.getArtifact().getProperty(ArtifactProperties.LOCAL_PATH, null);
             if (localPath != null && !localPaths.containsKey(key)) {
-                if (localPaths == this.managedLocalPaths) {
-                    localPaths = new HashMap<>(this.managedLocalPaths);
-                }
-                localPaths.put(key, localPath);
+                localPaths = localPaths.plus(key, localPath);
             }
 
             if (!managedDependency.getExclusions().isEmpty()) {
-                if (exclusions == this.managedExclusions) {
-                    exclusions = new HashMap<>(this.managedExclusions);
-                }
-                Collection<Exclusion> managed = exclusions.computeIfAbsent(key, k -> new LinkedHashSet<>());
-                managed.addAll(managedDependency.getExclusions());
+                exclusions = addExclusions(exclusions, key, managedDependency.getExclusions());
             }
         }
 
@@ -213,6 +197,23 @@ public final class DefaultDependencyManager implements DependencyManager {
         return new Key(a);
     }
 
+    /**
+     * Returns the managed exclusions with passed in exclusions merged into those of the key, never modifying the
+     * collections already present in the map, as those are shared with the managers derived from same parent.
+     */
+    private static PersistentHashMap<Object, Collection<Exclusion>> addExclusions(
+            PersistentHashMap<Object, Collection<Exclusion>> managedExclusions,
+            Object key,
+            Collection<Exclusion> exclusions) {
+        Collection<Exclusion> managed = managedExclusions.get(key);
+        Collection<Exclusion> merged = managed != null ? new LinkedHashSet<>(managed) : new LinkedHashSet<>();
+        merged.addAll(exclusions);
+        if (managed != null && merged.size() == managed.size()) {
+            return managedExclusions;
+        }
+        return managedExclusions.plus(key, merged);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         boolean equal = obj instanceof DefaultDependencyManager;
@@ -19,7 +19,6 @@
 package org.eclipse.aether.util.graph.manager;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -33,6 +32,7 @@ import org.eclipse.aether.collection.DependencyManager;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.Exclusion;
 import org.eclipse.aether.util.artifact.JavaScopes;
+import org.eclipse.aether.util.internal.PersistentHashMap;
 
 import static java.util.Objects.requireNonNull;
 
@@ -44,15 +44,15 @@ import static java.util.Objects.requireNonNull;
  */
 public final class TransitiveDependencyManager implements DependencyManager {
 
-    private final Map<Object, String> managedVersions;
+    private final PersistentHashMap<Object, String> managedVersions;
 
-    private final Map<Object, String> managedScopes;
+    private final PersistentHashMap<Object, String> managedScopes;
 
-    private final Map<Object, Boolean> managedOptionals;
+    private final PersistentHashMap<Object, Boolean> managedOptionals;
 
-    private final Map<Object, String> managedLocalPaths;
+    private final PersistentHashMap<Object, String> managedLocalPaths;
 
-    private final Map<Object, Collection<Exclusion>> managedExclusions;
+    private final PersistentHashMap<Object, Collection<Exclusion>> managedExclusions;
 
     private final int depth;
 
@@ -64,20 +64,20 @@ public final class TransitiveDependencyManager implements DependencyManager {
     public TransitiveDependencyManager() {
         this(
                 0,
-                Collections.<Object, String>emptyMap(),
-                Collections.<Object, String>emptyMap(),
-                Collections.<Object, Boolean>emptyMap(),
-                Collections.<Object, String>emptyMap(),
-                Collections.<Object, Collection<Exclusion>>emptyMap());
+                PersistentHashMap.<Object, String>empty(),
+                PersistentHashMap.<Object, String>empty(),
+                PersistentHashMap.<Object, Boolean>empty(),
+                PersistentHashMap.<Object, String>empty(),
+                PersistentHashMap.<Object, Collection<Exclusion>>empty());
     }
 
     private TransitiveDependencyManager(
             final int depth,
-            final Map<Object, String> managedVersions,
-            final Map<Object, String> managedScopes,
-            final Map<Object, Boolean> managedOptionals,
-            final Map<Object, String> managedLocalPaths,
-            final Map<Object, Collection<Exclusion>> managedExclusions) {
+            final PersistentHashMap<Object, String> managedVersions,
+            final PersistentHashMap<Object, String> managedScopes,
+            final PersistentHashMap<Object, Boolean> managedOptionals,
+            final PersistentHashMap<Object, String> managedLocalPaths,
+            final PersistentHashMap<Object, Collection<Exclusion>> managedExclusions) {
         super();
         this.depth = depth;
         this.managedVersions = managedVersions;
@@ -89,11 +89,11 @@ public final class TransitiveDependencyManager implements DependencyManager {
 
     public DependencyManager deriveChildManager(final DependencyCollectionContext context) {
         requireNonNull(context, "context cannot be null");
-        Map<Object, String> versions = managedVersions;
-        Map<Object, String> scopes = managedScopes;
-        Map<Object, Boolean> optionals = managedOptionals;
-        Map<Object, String> localPaths = managedLocalPaths;
-        Map<Object, Collection<Exclusion>> exclusions = managedExclusions;
+        PersistentHashMap<Object, String> versions = managedVersions;
+        PersistentHashMap<Object, String> scopes = managedScopes;
+        PersistentHashMap<Object, Boolean> optionals = managedOptionals;
+        PersistentHashMap<Object, String> localPaths = managedLocalPaths;
+        PersistentHashMap<Object, Collection<Exclusion>> exclusions = managedExclusions;
 
         for (Dependency managedDependency : context.getManagedDependencies()) {
             Artifact artifact = managedDependency.getArtifact();
@@ -101,42 +101,26 @@ public final class TransitiveDependencyManager implements DependencyManager {
 
             String version = artifact.getVersion();
             if (version.length() > 0 && !versions.containsKey(key)) {
-                if (versions == managedVersions) {
-                    versions = new HashMap<>(managedVersions);
-                }
-                versions.put(key, version);
+                versions = versions.plus(key, version);
             }
 
             String scope = managedDependency.getScope();
             if (scope.length() > 0 && !scopes.containsKey(key)) {
-                if (scopes == this.managedScopes) {
-                    scopes = new HashMap<>(this.managedScopes);
-                }
-                scopes.put(key, scope);
+                scopes = scopes.plus(key, scope);
             }
 
             Boolean optional = managedDependency.getOptional();
             if (optional != null && !optionals.containsKey(key)) {
-                if (optionals == managedOptionals) {
-                    optionals = new HashMap<>(managedOptionals);
-                }
-                optionals.put(key, optional);
+                optionals = optionals.plus(key, optional);
             }
 
             String localPath = managedDependency.getArtifact().getProperty(ArtifactProperties.LOCAL_PATH, null);
             if (localPath != null && !localPaths.containsKey(key)) {
-                if (localPaths == this.managedLocalPaths) {
-                    localPaths = new HashMap<>(managedLocalPaths);
-                }
-                localPaths.put(key, localPath);
+                localPaths = localPaths.plus(key, localPath);
             }
 
             if (!managedDependency.getExclusions().isEmpty()) {
-                if (exclusions == managedExclusions) {
-                    exclusions = new HashMap<>(managedExclusions);
-                }
-                Collection<Exclusion> managed = exclusions.computeIfAbsent(key, k -> new LinkedHashSet<>());
-                managed.addAll(managedDependency.getExclusions());
+                exclusions = addExclusions(exclusions, key, managedDependency.getExclusions());
             }
         }
 
@@ -212,6 +196,23 @@ public final class TransitiveDependencyManager implements DependencyManager {
         return new Key(a);
     }
 
+    /**
+     * Returns the managed exclusions with passed in exclusions merged into those of the key, never modifying the
+     * collections already present in the map, as those are shared with the managers derived from same parent.
+     */
+    private static PersistentHashMap<Object, Collection<Exclusion>> addExclusions(
+            PersistentHashMap<Object, Collection<Exclusion>> managedExclusions,
+            Object key,
+            Collection<Exclusion> exclusions) {
+        Collection<Exclusion> managed = managedExclusions.get(key);
+        Collection<Exclusion> merged = managed != null ? new LinkedHashSet<>(managed) : new LinkedHashSet<>();
+        merged.addAll(exclusions);
+        if (managed != null && merged.size() == managed.size()) {
+            return managedExclusions;
+        }
+        return managedExclusions.plus(key, merged);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         boolean equal = obj instanceof TransitiveDependencyManager;
@@ -18,9 +18,12 @@
  */
 package org.eclipse.aether.util.graph.selector;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.TreeSet;
 
 import org.eclipse.aether.artifact.Artifact;
@@ -28,6 +31,7 @@ import org.eclipse.aether.collection.DependencyCollectionContext;
 import org.eclipse.aether.collection.DependencySelector;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.util.internal.PersistentHashMap;
 
 import static java.util.Objects.requireNonNull;
 
@@ -38,16 +42,22 @@ import static java.util.Objects.requireNonNull;
  */
 public final class ExclusionDependencySelector implements DependencySelector {
 
-    // sorted and dupe-free array, faster to iterate than LinkedHashSet
-    private final Exclusion[] exclusions;
+    private static final String WILDCARD = "*";
 
-    private int hashCode;
+    private static final PersistentHashMap<String, PersistentHashMap<String, List<Exclusion>>> EMPTY =
+            PersistentHashMap.empty();
+
+    // exclusions by groupId and artifactId (each possibly being wildcard), buckets sorted and dupe-free; shared with
+    // the selectors derived from this one, that only add the paths they change
+    private final PersistentHashMap<String, PersistentHashMap<String, List<Exclusion>>> exclusions;
+
+    private final int size;
 
     /**
      * Creates a new selector without any exclusions.
      */
     public ExclusionDependencySelector() {
-        this.exclusions = new Exclusion[0];
+        this(EMPTY, 0);
     }
 
     /**
@@ -56,87 +66,92 @@ public final class ExclusionDependencySelector implements DependencySelector {
      * @param exclusions The exclusions, may be {@code null}.
      */
     public ExclusionDependencySelector(Collection<Exclusion> exclusions) {
-        if (exclusions != null && !exclusions.isEmpty()) {
-            TreeSet<Exclusion> sorted = new TreeSet<>(ExclusionComparator.INSTANCE);
-            sorted.addAll(exclusions);
-            this.exclusions = sorted.toArray(new Exclusion[0]);
-        } else {
-            this.exclusions = new Exclusion[0];
-        }
+        ExclusionDependencySelector selector = new ExclusionDependencySelector().add(exclusions);
+        this.exclusions = selector.exclusions;
+        this.size = selector.size;
     }
 
-    private ExclusionDependencySelector(Exclusion[] exclusions) {
+    private ExclusionDependencySelector(
+            PersistentHashMap<String, PersistentHashMap<String, List<Exclusion>>> exclusions, int size) {
         this.exclusions = exclusions;
+        this.size = size;
     }
 
     public boolean selectDependency(Dependency dependency) {
         requireNonNull(dependency, "dependency cannot be null");
-        Artifact artifact = dependency.getArtifact();
-        for (Exclusion exclusion : exclusions) {
-            if (matches(exclusion, artifact)) {
-                return false;
-            }
+        if (size == 0) {
+            return true;
         }
-        return true;
+        Artifact artifact = dependency.getArtifact();
+        return !matches(exclusions.get(artifact.getGroupId()), artifact)
+                && !matches(exclusions.get(WILDCARD), artifact);
     }
 
-    private boolean matches(Exclusion exclusion, Artifact artifact) {
-        if (!matches(exclusion.getArtifactId(), artifact.getArtifactId())) {
-            return false;
-        }
-        if (!matches(exclusion.getGroupId(), artifact.getGroupId())) {
-            return false;
-        }
-        if (!matches(exclusion.getExtension(), artifact.getExtension())) {
-            return false;
-        }
-        if (!matches(exclusion.getClassifier(), artifact.getClassifier())) {
-            return false;
+    private boolean matches(PersistentHashMap<String, List<Exclusion>> byArtifactId, Artifact artifact) {
+        return byArtifactId != null
+                && (matches(byArtifactId.get(artifact.getArtifactId()), artifact)
+                        || matches(byArtifactId.get(WILDCARD), artifact));
+    }
+
+    private boolean matches(List<Exclusion> bucket, Artifact artifact) {
+        if (bucket != null) {
+            for (Exclusion exclusion : bucket) {
+                if (matches(exclusion.getExtension(), artifact.getExtension())
+                        && matches(exclusion.getClassifier(), artifact.getClassifier())) {
+                    return true;
+                }
+            }
         }
-        return true;
+        return false;
     }
 
     private boolean matches(String pattern, String value) {
-        return "*".equals(pattern) || pattern.equals(value);
+        return WILDCARD.equals(pattern) || pattern.equals(value);
     }
 
     public DependencySelector deriveChildSelector(DependencyCollectionContext context) {
         requireNonNull(context, "context cannot be null");
         Dependency dependency = context.getDependency();
         Collection<Exclusion> exclusions = (dependency != null) ? dependency.getExclusions() : null;
+        return add(exclusions);
+    }
+
+    /**
+     * Returns a selector having passed in exclusions added to those of this selector, or this selector, if it already
+     * has all of them.
+     */
+    private ExclusionDependencySelector add(Collection<Exclusion> exclusions) {
         if (exclusions == null || exclusions.isEmpty()) {
             return this;
         }
 
-        Exclusion[] merged = this.exclusions;
-        int count = merged.length;
+        PersistentHashMap<String, PersistentHashMap<String, List<Exclusion>>> merged = this.exclusions;
+        int count = size;
         for (Exclusion exclusion : exclusions) {
-            int index = Arrays.binarySearch(merged, exclusion, ExclusionComparator.INSTANCE);
+            PersistentHashMap<String, List<Exclusion>> byArtifactId = merged.get(exclusion.getGroupId());
+            if (byArtifactId == null) {
+                byArtifactId = PersistentHashMap.empty();
+            }
+            List<Exclusion> bucket = byArtifactId.get(exclusion.getArtifactId());
+            if (bucket == null) {
+                bucket = Collections.emptyList();
+            }
+            int index = Collections.binarySearch(bucket, exclusion, ExclusionComparator.INSTANCE);
             if (index < 0) {
-                index = -(index + 1);
-                if (count >= merged.length) {
-                    Exclusion[] tmp = new Exclusion[merged.length + exclusions.size()];
-                    System.arraycopy(merged, 0, tmp, 0, index);
-                    tmp[index] = exclusion;
-                    System.arraycopy(merged, index, tmp, index + 1, count - index);
-                    merged = tmp;
-                } else {
-                    System.arraycopy(merged, index, merged, index + 1, count - index);
-                    merged[index] = exclusion;
-                }
+                List<Exclusion> tmp = new ArrayList<>(bucket.size() + 1);
+                tmp.addAll(bucket);
+                tmp.add(-(index + 1), exclusion);
+                merged = merged.plus(
+                        exclusion.getGroupId(),
+                        byArtifactId.plus(exclusion.getArtifactId(), Collections.unmodifiableList(tmp)));
                 count++;
             }
         }
         if (merged == this.exclusions) {
             return this;
         }
-        if (merged.length != count) {
-            Exclusion[] tmp = new Exclusion[count];
-            System.arraycopy(merged, 0, tmp, 0, count);
-            merged = tmp;
-        }
 
-        return new ExclusionDependencySelector(merged);
+        return new ExclusionDependencySelector(merged, count);
     }
 
     @Override
@@ -148,26 +163,29 @@ public final class ExclusionDependencySelector implements DependencySelector {
         }
 
         ExclusionDependencySelector that = (ExclusionDependencySelector) obj;
-        return Arrays.equals(exclusions, that.exclusions);
+        return size == that.size && exclusions.equals(that.exclusions);
     }
 
     @Override
     public int hashCode() {
-        if (hashCode == 0) {
-            int hash = getClass().hashCode();
-            hash = hash * 31 + Arrays.hashCode(exclusions);
-            hashCode = hash;
-        }
-        return hashCode;
+        int hash = getClass().hashCode();
+        hash = hash * 31 + exclusions.hashCode();
+        return hash;
     }
 
     @Override
     public String toString() {
+        TreeSet<Exclusion> sorted = new TreeSet<>(ExclusionComparator.INSTANCE);
+        for (PersistentHashMap<String, List<Exclusion>> byArtifactId : exclusions.values()) {
+            for (List<Exclusion> bucket : byArtifactId.values()) {
+                sorted.addAll(bucket);
+            }
+        }
         StringBuilder builder =
                 new StringBuilder().append(this.getClass().getSimpleName()).append('(');
-        for (int i = 0; i < this.exclusions.length; i++) {
-            builder.append(this.exclusions[i]);
-            if (i < this.exclusions.length - 1) {
+        for (Iterator<Exclusion> it = sorted.iterator(); it.hasNext(); ) {
+            builder.append(it.next());
+            if (it.hasNext()) {
                 builder.append(", ");
             }
         }
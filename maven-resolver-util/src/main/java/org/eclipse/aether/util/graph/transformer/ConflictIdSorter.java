@@ -123,7 +123,11 @@ public final class ConflictIdSorter implements DependencyGraphTransformer {
         }
     }
 
-    private int topsortConflictIds(Collection<ConflictId> conflictIds, DependencyGraphTransformationContext context) {
+    /**
+     * Sorts passed in conflict ids, and stores the sorted ids and the cycles among them into passed in context, returns
+     * the count of cycles.
+     */
+    static int topsortConflictIds(Collection<ConflictId> conflictIds, DependencyGraphTransformationContext context) {
         List<Object> sorted = new ArrayList<>(conflictIds.size());
 
         RootQueue roots = new RootQueue(conflictIds.size() / 2);
@@ -169,7 +173,7 @@ public final class ConflictIdSorter implements DependencyGraphTransformer {
         return cycles.size();
     }
 
-    private void processRoots(List<Object> sorted, RootQueue roots) {
+    private static void processRoots(List<Object> sorted, RootQueue roots) {
         while (!roots.isEmpty()) {
             ConflictId root = roots.remove();
 
@@ -184,7 +188,7 @@ public final class ConflictIdSorter implements DependencyGraphTransformer {
         }
     }
 
-    private Collection<Collection<Object>> findCycles(Collection<ConflictId> conflictIds) {
+    private static Collection<Collection<Object>> findCycles(Collection<ConflictId> conflictIds) {
         Collection<Collection<Object>> cycles = new HashSet<>();
 
         Map<Object, Integer> stack = new HashMap<>(128);
@@ -196,7 +200,7 @@ public final class ConflictIdSorter implements DependencyGraphTransformer {
         return cycles;
     }
 
-    private void findCycles(
+    private static void findCycles(
             ConflictId id,
             Map<ConflictId, Object> visited,
             Map<Object, Integer> stack,
@@ -18,13 +18,12 @@
  */
 package org.eclipse.aether.util.graph.transformer;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.artifact.Artifact;
@@ -58,13 +57,13 @@ public final class ConflictMarker implements DependencyGraphTransformer {
         long time1 = System.nanoTime();
 
         Map<DependencyNode, Object> nodes = new IdentityHashMap<>(1024);
-        Map<Object, ConflictGroup> groups = new HashMap<>(1024);
+        KeySets keySets = new KeySets(1024);
 
-        analyze(node, nodes, groups, new int[] {0});
+        analyze(node, nodes, keySets);
 
         long time2 = System.nanoTime();
 
-        Map<DependencyNode, Object> conflictIds = mark(nodes.keySet(), groups);
+        Map<DependencyNode, Object> conflictIds = mark(nodes, keySets);
 
         context.put(TransformationContextKeys.CONFLICT_IDS, conflictIds);
 
@@ -78,121 +77,54 @@ public final class ConflictMarker implements DependencyGraphTransformer {
         return node;
     }
 
-    private void analyze(
-            DependencyNode node, Map<DependencyNode, Object> nodes, Map<Object, ConflictGroup> groups, int[] counter) {
-        if (nodes.put(node, Boolean.TRUE) != null) {
-            return;
-        }
-
-        Set<Object> keys = getKeys(node);
-        if (!keys.isEmpty()) {
-            ConflictGroup group = null;
-            boolean fixMappings = false;
-
-            for (Object key : keys) {
-                ConflictGroup g = groups.get(key);
-
-                if (group != g) {
-                    if (group == null) {
-                        Set<Object> newKeys = merge(g.keys, keys);
-                        if (newKeys == g.keys) {
-                            group = g;
-                            break;
-                        } else {
-                            group = new ConflictGroup(newKeys, counter[0]++);
-                            fixMappings = true;
-                        }
-                    } else if (g == null) {
-                        fixMappings = true;
-                    } else {
-                        Set<Object> newKeys = merge(g.keys, group.keys);
-                        if (newKeys == g.keys) {
-                            group = g;
-                            fixMappings = false;
-                            break;
-                        } else if (newKeys != group.keys) {
-                            group = new ConflictGroup(newKeys, counter[0]++);
-                            fixMappings = true;
-                        }
-                    }
-                }
-            }
-
-            if (group == null) {
-                group = new ConflictGroup(keys, counter[0]++);
-                fixMappings = true;
-            }
-            if (fixMappings) {
-                for (Object key : group.keys) {
-                    groups.put(key, group);
-                }
-            }
-        }
-
-        for (DependencyNode child : node.getChildren()) {
-            analyze(child, nodes, groups, counter);
-        }
-    }
-
-    private Set<Object> merge(Set<Object> keys1, Set<Object> keys2) {
-        int size1 = keys1.size();
-        int size2 = keys2.size();
-
-        if (size1 < size2) {
-            if (keys2.containsAll(keys1)) {
-                return keys2;
-            }
-        } else {
-            if (keys1.containsAll(keys2)) {
-                return keys1;
+    /**
+     * Visits all the nodes (iteratively, as graph may be deep), recording the key id of every node having dependency
+     * and merging the key sets of its artifact, relocations and aliases.
+     */
+    private void analyze(DependencyNode root, Map<DependencyNode, Object> nodes, KeySets keySets) {
+        ArrayDeque<DependencyNode> stack = new ArrayDeque<>(64);
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            DependencyNode node = stack.pop();
+            if (nodes.containsKey(node)) {
+                continue;
             }
-        }
-
-        Set<Object> keys = new HashSet<>();
-        keys.addAll(keys1);
-        keys.addAll(keys2);
-        return keys;
-    }
-
-    private Set<Object> getKeys(DependencyNode node) {
-        Set<Object> keys;
-
-        Dependency dependency = node.getDependency();
 
-        if (dependency == null) {
-            keys = Collections.emptySet();
-        } else {
-            Object key = toKey(dependency.getArtifact());
-
-            if (node.getRelocations().isEmpty() && node.getAliases().isEmpty()) {
-                keys = Collections.singleton(key);
+            Dependency dependency = node.getDependency();
+            if (dependency == null) {
+                nodes.put(node, Boolean.TRUE);
             } else {
-                keys = new HashSet<>();
-                keys.add(key);
-
+                int id = keySets.id(dependency.getArtifact());
+                nodes.put(node, id);
                 for (Artifact relocation : node.getRelocations()) {
-                    key = toKey(relocation);
-                    keys.add(key);
+                    keySets.union(id, keySets.id(relocation));
                 }
-
                 for (Artifact alias : node.getAliases()) {
-                    key = toKey(alias);
-                    keys.add(key);
+                    keySets.union(id, keySets.id(alias));
                 }
             }
-        }
 
-        return keys;
+            List<DependencyNode> children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
     }
 
-    private Map<DependencyNode, Object> mark(Collection<DependencyNode> nodes, Map<Object, ConflictGroup> groups) {
+    private Map<DependencyNode, Object> mark(Map<DependencyNode, Object> nodes, KeySets keySets) {
         Map<DependencyNode, Object> conflictIds = new IdentityHashMap<>(nodes.size() + 1);
-
-        for (DependencyNode node : nodes) {
-            Dependency dependency = node.getDependency();
-            if (dependency != null) {
-                Object key = toKey(dependency.getArtifact());
-                conflictIds.put(node, groups.get(key).index);
+        Integer[] groups = new Integer[keySets.size()];
+        int counter = 0;
+
+        for (Map.Entry<DependencyNode, Object> entry : nodes.entrySet()) {
+            if (entry.getValue() instanceof Integer) {
+                int set = keySets.find((Integer) entry.getValue());
+                Integer group = groups[set];
+                if (group == null) {
+                    group = counter++;
+                    groups[set] = group;
+                }
+                conflictIds.put(entry.getKey(), group);
             }
         }
 
@@ -203,20 +135,71 @@ public final class ConflictMarker implements DependencyGraphTransformer {
         return new Key(artifact);
     }
 
-    static class ConflictGroup {
+    /**
+     * Disjoint sets of artifact keys, keys are mapped to dense int ids and sets are tracked by union-find with path
+     * halving and union by size.
+     */
+    static final class KeySets {
+
+        private final Map<Object, Integer> ids;
 
-        final Set<Object> keys;
+        private int[] parents;
 
-        final int index;
+        private int[] sizes;
 
-        ConflictGroup(Set<Object> keys, int index) {
-            this.keys = keys;
-            this.index = index;
+        private int count;
+
+        KeySets(int initialCapacity) {
+            ids = new HashMap<>(initialCapacity);
+            parents = new int[initialCapacity];
+            sizes = new int[initialCapacity];
         }
 
-        @Override
-        public String toString() {
-            return String.valueOf(keys);
+        int size() {
+            return count;
+        }
+
+        int id(Artifact artifact) {
+            Object key = toKey(artifact);
+            Integer id = ids.get(key);
+            if (id == null) {
+                if (count == parents.length) {
+                    parents = Arrays.copyOf(parents, count * 2);
+                    sizes = Arrays.copyOf(sizes, count * 2);
+                }
+                id = count++;
+                parents[id] = id;
+                sizes[id] = 1;
+                ids.put(key, id);
+            }
+            return id;
+        }
+
+        int find(int id) {
+            while (parents[id] != id) {
+                parents[id] = parents[parents[id]];
+                id = parents[id];
+            }
+            return id;
+        }
+
+        /**
+         * Merges the sets of passed in ids, returns {@code true} if those were distinct sets.
+         */
+        boolean union(int id1, int id2) {
+            int root1 = find(id1);
+            int root2 = find(id2);
+            if (root1 == root2) {
+                return false;
+            }
+            if (sizes[root1] < sizes[root2]) {
+                int tmp = root1;
+                root1 = root2;
+                root2 = tmp;
+            }
+            parents[root2] = root1;
+            sizes[root1] += sizes[root2];
+            return true;
         }
     }
 
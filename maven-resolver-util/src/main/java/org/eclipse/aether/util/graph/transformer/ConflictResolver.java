@@ -198,12 +198,12 @@ public final class ConflictResolver implements DependencyGraphTransformer {
             }
         }
 
-        State state = new State(node, conflictIds, sortedConflictIds.size(), context);
-        for (Iterator<?> it = sortedConflictIds.iterator(); it.hasNext(); ) {
-            Object conflictId = it.next();
+        State state = new State(node, conflictIds, sortedConflictIds, context);
+        for (int index = 0, count = sortedConflictIds.size(); index < count; index++) {
+            Object conflictId = sortedConflictIds.get(index);
 
             // reset data structures for next graph walk
-            state.prepare(conflictId, cyclicPredecessors.get(conflictId));
+            state.prepare(index, cyclicPredecessors.get(conflictId));
 
             // find nodes with the current conflict id and while walking the graph (more deeply), nuke leftover losers
             gatherConflictItems(node, state);
@@ -242,9 +242,9 @@ public final class ConflictResolver implements DependencyGraphTransformer {
             state.winner();
 
             // in case of cycles, trigger final graph walk to ensure all leftover losers are gone
-            if (!it.hasNext() && !conflictIdCycles.isEmpty() && state.conflictCtx.winner != null) {
+            if (index == count - 1 && !conflictIdCycles.isEmpty() && state.conflictCtx.winner != null) {
                 DependencyNode winner = state.conflictCtx.winner.node;
-                state.prepare(state, null);
+                state.prepare(State.NO_ID, null);
                 gatherConflictItems(winner, state);
             }
         }
@@ -258,26 +258,49 @@ public final class ConflictResolver implements DependencyGraphTransformer {
         return node;
     }
 
-    private boolean gatherConflictItems(DependencyNode node, State state) throws RepositoryException {
-        Object conflictId = state.conflictIds.get(node);
-        if (state.currentId.equals(conflictId)) {
-            // found it, add conflict item (if not already done earlier by another path)
-            state.add(node);
-            // we don't recurse here so we might miss losers beneath us, those will be nuked during future walks below
-        } else if (state.loser(node, conflictId)) {
-            // found a leftover loser (likely in a cycle) of an already processed conflict id, tell caller to nuke it
-            return false;
-        } else if (state.push(node, conflictId)) {
-            // found potential parent, no cycle and not visisted before with the same derived scope, so recurse
-            for (Iterator<DependencyNode> it = node.getChildren().iterator(); it.hasNext(); ) {
+    /**
+     * Walks the graph depth-first, using an explicit stack of child iterators (one per node pushed onto the state)
+     * instead of recursion, as graphs may be deep enough to overflow the call stack.
+     */
+    private void gatherConflictItems(DependencyNode root, State state) throws RepositoryException {
+        List<Iterator<DependencyNode>> iterators = new ArrayList<>(64);
+        if (gatherConflictItem(root, state.conflictIndex(root), state)) {
+            iterators.add(root.getChildren().iterator());
+        }
+        while (!iterators.isEmpty()) {
+            int last = iterators.size() - 1;
+            Iterator<DependencyNode> it = iterators.get(last);
+            if (it.hasNext()) {
                 DependencyNode child = it.next();
-                if (!gatherConflictItems(child, state)) {
+                int conflictIndex = state.conflictIndex(child);
+                if (conflictIndex != state.currentIndex && state.loser(child, conflictIndex)) {
+                    // found a leftover loser (likely in a cycle) of an already processed conflict id, nuke it
                     it.remove();
+                } else if (gatherConflictItem(child, conflictIndex, state)) {
+                    iterators.add(child.getChildren().iterator());
                 }
+            } else {
+                iterators.remove(last);
+                state.pop();
             }
-            state.pop();
         }
-        return true;
+    }
+
+    /**
+     * Processes single node of graph walk, returns {@code true} if node was pushed, and its children should be
+     * walked as well.
+     */
+    private boolean gatherConflictItem(DependencyNode node, int conflictIndex, State state) throws RepositoryException {
+        if (conflictIndex == state.currentIndex) {
+            // found it, add conflict item (if not already done earlier by another path)
+            state.add(node);
+            // we don't recurse here so we might miss losers beneath us, those will be nuked during future walks below
+            return false;
+        } else if (state.loser(node, conflictIndex)) {
+            return false;
+        }
+        // found potential parent, no cycle and not visited before with the same derived scope, so recurse
+        return state.push(node, conflictIndex);
     }
 
     private static void removeLosers(State state) {
@@ -286,6 +309,7 @@ public final class ConflictResolver implements DependencyGraphTransformer {
         List<DependencyNode> previousParent = null;
         ListIterator<DependencyNode> childIt = null;
         HashSet<String> toRemoveIds = new HashSet<>();
+        IdentityHashMap<DependencyNode, DependencyNode> copies = new IdentityHashMap<>();
         for (ConflictItem item : state.items) {
             if (item == winner) {
                 continue;
@@ -325,15 +349,14 @@ public final class ConflictResolver implements DependencyGraphTransformer {
                     }
 
                     // FULL: just record the facts
-                    DependencyNode loser = new DefaultDependencyNode(child);
-                    loser.setData(NODE_DATA_WINNER, winner.node);
-                    loser.setData(
-                            NODE_DATA_ORIGINAL_SCOPE, loser.getDependency().getScope());
-                    loser.setData(
-                            NODE_DATA_ORIGINAL_OPTIONALITY,
-                            loser.getDependency().isOptional());
-                    loser.setScope(item.getScopes().iterator().next());
-                    loser.setChildren(Collections.emptyList());
+                    // all losers replacing the same node share a single childless copy of it
+                    DependencyNode copy = copies.computeIfAbsent(child, n -> {
+                        DependencyNode c = new DefaultDependencyNode(n);
+                        c.setChildren(Collections.emptyList());
+                        return c;
+                    });
+                    DependencyNode loser = new LoserDependencyNode(
+                            copy, winner.node, item.getScopes().iterator().next());
                     childIt.set(loser);
                     item.node = loser;
                     break;
@@ -445,11 +468,26 @@ public final class ConflictResolver implements DependencyGraphTransformer {
 
     final class State {
 
+        /**
+         * The conflict index used for nodes without conflict id.
+         */
+        static final int NULL_ID = -1;
+
+        /**
+         * The conflict index used as current one for walks not gathering any conflict items.
+         */
+        static final int NO_ID = -2;
+
         /**
          * The conflict id currently processed.
          */
         Object currentId;
 
+        /**
+         * The dense index of conflict id currently processed.
+         */
+        int currentIndex;
+
         /**
          * Stats counter.
          */
@@ -461,22 +499,39 @@ public final class ConflictResolver implements DependencyGraphTransformer {
         final Verbosity verbosity;
 
         /**
-         * A mapping from conflict id to winner node, helps to recognize nodes that have their effective
-         * scope&optionality set or are leftovers from previous removals.
+         * The mapping from nodes to dense conflict indices (positions in the sorted conflict ids), derived from the
+         * output of the conflict marker. Conflict ids not present in sorted conflict ids get indices past those.
          */
-        final Map<Object, DependencyNode> resolvedIds;
+        final Map<DependencyNode, Integer> conflictIndices;
 
         /**
-         * The set of conflict ids which could apply to ancestors of nodes with the current conflict id, used to avoid
-         * recursion early on. This is basically a superset of the key set of resolvedIds, the additional ids account
-         * for cyclic dependencies.
+         * The conflict ids by their dense indices.
          */
-        final Collection<Object> potentialAncestorIds;
+        final List<Object> indexedIds;
 
         /**
-         * The output from the conflict marker
+         * The dense indices by conflict ids, {@code null} if conflict ids are dense indices already.
          */
-        final Map<?, ?> conflictIds;
+        final Map<Object, Integer> indices;
+
+        /**
+         * A mapping from conflict index to whether it is resolved already, helps to recognize nodes that have their
+         * effective scope&optionality set.
+         */
+        final boolean[] resolved;
+
+        /**
+         * A mapping from conflict index to winner node, helps to recognize nodes that are leftovers from previous
+         * removals.
+         */
+        final DependencyNode[] winners;
+
+        /**
+         * The set of conflict indices which could apply to ancestors of nodes with the current conflict id, used to
+         * avoid recursion early on. This is basically a superset of resolved indices, the additional ids account for
+         * cyclic dependencies.
+         */
+        final boolean[] potentialAncestors;
 
         /**
          * The conflict items we have gathered so far for the current conflict id.
@@ -506,9 +561,9 @@ public final class ConflictResolver implements DependencyGraphTransformer {
         final List<String> parentScopes;
 
         /**
-         * The stack of derived optional flags for parent nodes.
+         * The stack of derived optional flags for parent nodes, its size is tracked by {@link #parentNodes}.
          */
-        final List<Boolean> parentOptionals;
+        boolean[] parentOptionals;
 
         /**
          * The stack of node infos for parent nodes, may contain {@code null} which is used to disable creating new
@@ -551,19 +606,46 @@ public final class ConflictResolver implements DependencyGraphTransformer {
         State(
                 DependencyNode root,
                 Map<?, ?> conflictIds,
-                int conflictIdCount,
+                List<?> sortedConflictIds,
                 DependencyGraphTransformationContext context)
                 throws RepositoryException {
-            this.conflictIds = conflictIds;
             this.verbosity = getVerbosity(context.getSession());
-            potentialAncestorIds = new HashSet<>(conflictIdCount * 2);
-            resolvedIds = new HashMap<>(conflictIdCount * 2);
+            if (Boolean.TRUE.equals(context.get(TransformationContextKeys.DENSE_CONFLICT_IDS))) {
+                @SuppressWarnings("unchecked")
+                List<Object> ids = (List<Object>) sortedConflictIds;
+                @SuppressWarnings("unchecked")
+                Map<DependencyNode, Integer> dense = (Map<DependencyNode, Integer>) conflictIds;
+                indexedIds = ids;
+                indices = null;
+                conflictIndices = dense;
+            } else {
+                indexedIds = new ArrayList<>(sortedConflictIds);
+                indices = new HashMap<>(indexedIds.size() * 2);
+                for (int i = 0; i < indexedIds.size(); i++) {
+                    indices.put(indexedIds.get(i), i);
+                }
+                conflictIndices = new IdentityHashMap<>(conflictIds.size());
+                for (Map.Entry<?, ?> entry : conflictIds.entrySet()) {
+                    if (entry.getValue() != null) {
+                        Integer index = indices.get(entry.getValue());
+                        if (index == null) {
+                            index = indexedIds.size();
+                            indexedIds.add(entry.getValue());
+                            indices.put(entry.getValue(), index);
+                        }
+                        conflictIndices.put((DependencyNode) entry.getKey(), index);
+                    }
+                }
+            }
+            resolved = new boolean[indexedIds.size()];
+            winners = new DependencyNode[indexedIds.size()];
+            potentialAncestors = new boolean[indexedIds.size()];
             items = new ArrayList<>(256);
             infos = new IdentityHashMap<>(64);
             stack = new IdentityHashMap<>(64);
             parentNodes = new ArrayList<>(64);
             parentScopes = new ArrayList<>(64);
-            parentOptionals = new ArrayList<>(64);
+            parentOptionals = new boolean[64];
             parentInfos = new ArrayList<>(64);
             conflictCtx = new ConflictContext(root, conflictIds, items);
             scopeCtx = new ScopeContext(null, null);
@@ -573,19 +655,30 @@ public final class ConflictResolver implements DependencyGraphTransformer {
             optionalitySelector = ConflictResolver.this.optionalitySelector.getInstance(root, context);
         }
 
-        void prepare(Object conflictId, Collection<Object> cyclicPredecessors) {
-            currentId = conflictId;
-            conflictCtx.conflictId = conflictId;
+        void prepare(int conflictIndex, Collection<Object> cyclicPredecessors) {
+            currentIndex = conflictIndex;
+            currentId = conflictIndex >= 0 ? indexedIds.get(conflictIndex) : this;
+            conflictCtx.conflictId = currentId;
             conflictCtx.winner = null;
             conflictCtx.scope = null;
             conflictCtx.optional = null;
             items.clear();
             infos.clear();
             if (cyclicPredecessors != null) {
-                potentialAncestorIds.addAll(cyclicPredecessors);
+                for (Object predecessor : cyclicPredecessors) {
+                    Integer index = indices != null ? indices.get(predecessor) : (Integer) predecessor;
+                    if (index != null) {
+                        potentialAncestors[index] = true;
+                    }
+                }
             }
         }
 
+        int conflictIndex(DependencyNode node) {
+            Integer index = conflictIndices.get(node);
+            return index != null ? index : NULL_ID;
+        }
+
         void finish() {
             List<DependencyNode> previousParent = null;
             int previousDepth = 0;
@@ -601,27 +694,31 @@ public final class ConflictResolver implements DependencyGraphTransformer {
                     item.depth = previousDepth;
                 }
             }
-            potentialAncestorIds.add(currentId);
+            potentialAncestors[currentIndex] = true;
         }
 
         void winner() {
-            resolvedIds.put(currentId, (conflictCtx.winner != null) ? conflictCtx.winner.node : null);
+            resolved[currentIndex] = true;
+            winners[currentIndex] = (conflictCtx.winner != null) ? conflictCtx.winner.node : null;
         }
 
-        boolean loser(DependencyNode node, Object conflictId) {
-            DependencyNode winner = resolvedIds.get(conflictId);
+        boolean loser(DependencyNode node, int conflictIndex) {
+            if (conflictIndex < 0) {
+                return false;
+            }
+            DependencyNode winner = winners[conflictIndex];
             return winner != null && winner != node;
         }
 
-        boolean push(DependencyNode node, Object conflictId) throws RepositoryException {
-            if (conflictId == null) {
+        boolean push(DependencyNode node, int conflictIndex) throws RepositoryException {
+            if (conflictIndex < 0) {
                 if (node.getDependency() != null) {
                     if (node.getData().get(NODE_DATA_WINNER) != null) {
                         return false;
                     }
                     throw new RepositoryException("missing conflict id for node " + node);
                 }
-            } else if (!potentialAncestorIds.contains(conflictId)) {
+            } else if (!potentialAncestors[conflictIndex]) {
                 return false;
             }
 
@@ -631,8 +728,8 @@ public final class ConflictResolver implements DependencyGraphTransformer {
             }
 
             int depth = depth();
-            String scope = deriveScope(node, conflictId);
-            boolean optional = deriveOptional(node, conflictId);
+            String scope = deriveScope(node, conflictIndex);
+            boolean optional = deriveOptional(node, conflictIndex);
             NodeInfo info = infos.get(graphNode);
             if (info == null) {
                 info = new NodeInfo(depth, scope, optional);
@@ -640,7 +737,7 @@ public final class ConflictResolver implements DependencyGraphTransformer {
                 parentInfos.add(info);
                 parentNodes.add(node);
                 parentScopes.add(scope);
-                parentOptionals.add(optional);
+                pushOptional(depth, optional);
             } else {
                 int changes = info.update(depth, scope, optional);
                 if (changes == 0) {
@@ -650,13 +747,13 @@ public final class ConflictResolver implements DependencyGraphTransformer {
                 parentInfos.add(null); // disable creating new conflict items, we update the existing ones below
                 parentNodes.add(node);
                 parentScopes.add(scope);
-                parentOptionals.add(optional);
+                pushOptional(depth, optional);
                 if (info.children != null) {
                     if ((changes & NodeInfo.CHANGE_SCOPE) != 0) {
                         ListIterator<ConflictItem> itemIterator = info.children.listIterator(info.children.size());
                         while (itemIterator.hasPrevious()) {
                             ConflictItem item = itemIterator.previous();
-                            String childScope = deriveScope(item.node, null);
+                            String childScope = deriveScope(item.node, NULL_ID);
                             item.addScope(childScope);
                         }
                     }
@@ -664,7 +761,7 @@ public final class ConflictResolver implements DependencyGraphTransformer {
                         ListIterator<ConflictItem> itemIterator = info.children.listIterator(info.children.size());
                         while (itemIterator.hasPrevious()) {
                             ConflictItem item = itemIterator.previous();
-                            boolean childOptional = deriveOptional(item.node, null);
+                            boolean childOptional = deriveOptional(item.node, NULL_ID);
                             item.addOptional(childOptional);
                         }
                     }
@@ -674,11 +771,17 @@ public final class ConflictResolver implements DependencyGraphTransformer {
             return true;
         }
 
+        private void pushOptional(int depth, boolean optional) {
+            if (depth == parentOptionals.length) {
+                parentOptionals = Arrays.copyOf(parentOptionals, depth * 2);
+            }
+            parentOptionals[depth] = optional;
+        }
+
         void pop() {
             int last = parentInfos.size() - 1;
             parentInfos.remove(last);
             parentScopes.remove(last);
-            parentOptionals.remove(last);
             DependencyNode node = parentNodes.remove(last);
             stack.remove(node.getChildren());
         }
@@ -699,7 +802,7 @@ public final class ConflictResolver implements DependencyGraphTransformer {
         }
 
         private ConflictItem newConflictItem(DependencyNode parent, DependencyNode node) throws RepositoryException {
-            return new ConflictItem(parent, node, deriveScope(node, null), deriveOptional(node, null));
+            return new ConflictItem(parent, node, deriveScope(node, NULL_ID), deriveOptional(node, NULL_ID));
         }
 
         private int depth() {
@@ -711,9 +814,9 @@ public final class ConflictResolver implements DependencyGraphTransformer {
             return (size <= 0) ? null : parentNodes.get(size - 1);
         }
 
-        private String deriveScope(DependencyNode node, Object conflictId) throws RepositoryException {
+        private String deriveScope(DependencyNode node, int conflictIndex) throws RepositoryException {
             if ((node.getManagedBits() & DependencyNode.MANAGED_SCOPE) != 0
-                    || (conflictId != null && resolvedIds.containsKey(conflictId))) {
+                    || (conflictIndex >= 0 && resolved[conflictIndex])) {
                 return scope(node.getDependency());
             }
 
@@ -735,16 +838,16 @@ public final class ConflictResolver implements DependencyGraphTransformer {
             return (dependency != null) ? dependency.getScope() : null;
         }
 
-        private boolean deriveOptional(DependencyNode node, Object conflictId) {
+        private boolean deriveOptional(DependencyNode node, int conflictIndex) {
             Dependency dep = node.getDependency();
             boolean optional = (dep != null) && dep.isOptional();
             if (optional
                     || (node.getManagedBits() & DependencyNode.MANAGED_OPTIONAL) != 0
-                    || (conflictId != null && resolvedIds.containsKey(conflictId))) {
+                    || (conflictIndex >= 0 && resolved[conflictIndex])) {
                 return optional;
             }
             int depth = parentNodes.size();
-            return (depth > 0) ? parentOptionals.get(depth - 1) : false;
+            return (depth > 0) ? parentOptionals[depth - 1] : false;
         }
     }
 
@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.transformer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.RepositoryException;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.DependencyGraphTransformationContext;
+import org.eclipse.aether.collection.DependencyGraphTransformer;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.transformer.ConflictIdSorter.ConflictId;
+import org.eclipse.aether.util.graph.transformer.ConflictMarker.KeySets;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver.OptionalitySelector;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver.ScopeDeriver;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver.ScopeSelector;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver.VersionSelector;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A dependency graph transformer that is a drop-in replacement for the usual chain of {@link ConflictResolver} (that
+ * on its own invokes {@link ConflictIdSorter} and {@link ConflictMarker}) and {@link JavaDependencyContextRefiner},
+ * producing same results with less graph walks and garbage:
+ * <ul>
+ * <li>conflict marking and building of the conflict id graph happen in single graph walk (a second walk is needed
+ * only if relocations or aliases merged conflict groups)</li>
+ * <li>the node table built by that walk is reused as {@link TransformationContextKeys#CONFLICT_IDS}, with conflict ids
+ * being dense indices into {@link TransformationContextKeys#SORTED_CONFLICT_IDS}, that conflict resolution uses as
+ * they are</li>
+ * </ul>
+ * As a consequence, the conflict ids present in the transformation context differ from those produced by
+ * {@link ConflictMarker}, but they partition the nodes in same way, and are sorted in same order.
+ *
+ * @since 1.9.9
+ */
+public final class FusedDependencyGraphTransformer implements DependencyGraphTransformer {
+    /**
+     * The key id of nodes without dependency.
+     */
+    private static final Integer NO_KEY = -1;
+
+    private final ConflictResolver conflictResolver;
+
+    private final JavaDependencyContextRefiner contextRefiner;
+
+    /**
+     * Creates a new transformer equivalent to chain of {@link ConflictResolver} created with specified selectors and
+     * deriver and {@link JavaDependencyContextRefiner}.
+     *
+     * @param versionSelector The version selector to use, must not be {@code null}.
+     * @param scopeSelector The scope selector to use, must not be {@code null}.
+     * @param optionalitySelector The optionality selector ot use, must not be {@code null}.
+     * @param scopeDeriver The scope deriver to use, must not be {@code null}.
+     */
+    public FusedDependencyGraphTransformer(
+            VersionSelector versionSelector,
+            ScopeSelector scopeSelector,
+            OptionalitySelector optionalitySelector,
+            ScopeDeriver scopeDeriver) {
+        this.conflictResolver = new ConflictResolver(versionSelector, scopeSelector, optionalitySelector, scopeDeriver);
+        this.contextRefiner = new JavaDependencyContextRefiner();
+    }
+
+    @Override
+    public DependencyNode transformGraph(DependencyNode node, DependencyGraphTransformationContext context)
+            throws RepositoryException {
+        requireNonNull(node, "node cannot be null");
+        requireNonNull(context, "context cannot be null");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) context.get(TransformationContextKeys.STATS);
+        long time1 = System.nanoTime();
+
+        Map<DependencyNode, Object> table = new IdentityHashMap<>(1024);
+        KeySets keySets = new KeySets(1024);
+        Map<Integer, ConflictId> ids = new LinkedHashMap<>(256);
+        boolean merged = analyze(node, table, keySets, ids);
+        if (merged) {
+            // conflict groups were not final while walking, redo the conflict id graph with final groups
+            ids.clear();
+            buildConflictIds(node, table, keySets, ids);
+        }
+
+        long time2 = System.nanoTime();
+
+        int cycles = ConflictIdSorter.topsortConflictIds(ids.values(), context);
+        renumber(table, keySets, context);
+
+        long time3 = System.nanoTime();
+
+        node = conflictResolver.transformGraph(node, context);
+        node = contextRefiner.transformGraph(node, context);
+
+        if (stats != null) {
+            long time4 = System.nanoTime();
+            stats.put("FusedDependencyGraphTransformer.analyzeTime", time2 - time1);
+            stats.put("FusedDependencyGraphTransformer.sortTime", time3 - time2);
+            stats.put("FusedDependencyGraphTransformer.resolveTime", time4 - time3);
+            stats.put("FusedDependencyGraphTransformer.nodeCount", table.size());
+            stats.put("FusedDependencyGraphTransformer.conflictIdCount", ids.size());
+            stats.put("FusedDependencyGraphTransformer.conflictIdCycleCount", cycles);
+            stats.put("FusedDependencyGraphTransformer.groupsMerged", merged);
+        }
+
+        return node;
+    }
+
+    /**
+     * Walks the graph once, like {@link ConflictMarker} does, recording key ids of nodes into table and merging keys
+     * of relocations and aliases, while building the conflict id graph keyed by key ids, like
+     * {@link ConflictIdSorter} does. Returns {@code true} if any conflict groups were merged, in which case the built
+     * conflict id graph is not usable.
+     */
+    private boolean analyze(
+            DependencyNode root, Map<DependencyNode, Object> table, KeySets keySets, Map<Integer, ConflictId> ids) {
+        boolean merged = false;
+        List<Frame> stack = new ArrayList<>(64);
+
+        Integer rootKey = keyOf(root, table, keySets);
+        ConflictId rootId = null;
+        if (!NO_KEY.equals(rootKey)) {
+            rootId = new ConflictId(rootKey, 0);
+            ids.put(rootKey, rootId);
+        }
+        table.put(root, rootKey);
+        merged |= unionAliases(root, rootKey, keySets);
+        stack.add(new Frame(root, rootId, 1));
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.get(stack.size() - 1);
+            if (!frame.children.hasNext()) {
+                stack.remove(stack.size() - 1);
+                continue;
+            }
+            DependencyNode child = frame.children.next();
+            Integer key = keyOf(child, table, keySets);
+            ConflictId childId = conflictId(ids, key, frame.depth);
+            if (frame.id != null) {
+                frame.id.add(childId);
+            }
+            if (table.put(child, key) == null) {
+                merged |= unionAliases(child, key, keySets);
+                stack.add(new Frame(child, childId, frame.depth + 1));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Walks the graph like {@link ConflictIdSorter} does, building the conflict id graph keyed by final conflict groups.
+     */
+    private void buildConflictIds(
+            DependencyNode root, Map<DependencyNode, Object> table, KeySets keySets, Map<Integer, ConflictId> ids) {
+        Map<DependencyNode, Object> visited = new IdentityHashMap<>(table.size());
+        List<Frame> stack = new ArrayList<>(64);
+
+        Integer rootKey = groupOf(root, table, keySets);
+        ConflictId rootId = null;
+        if (!NO_KEY.equals(rootKey)) {
+            rootId = new ConflictId(rootKey, 0);
+            ids.put(rootKey, rootId);
+        }
+        visited.put(root, Boolean.TRUE);
+        stack.add(new Frame(root, rootId, 1));
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.get(stack.size() - 1);
+            if (!frame.children.hasNext()) {
+                stack.remove(stack.size() - 1);
+                continue;
+            }
+            DependencyNode child = frame.children.next();
+            ConflictId childId = conflictId(ids, groupOf(child, table, keySets), frame.depth);
+            if (frame.id != null) {
+                frame.id.add(childId);
+            }
+            if (visited.put(child, Boolean.TRUE) == null) {
+                stack.add(new Frame(child, childId, frame.depth + 1));
+            }
+        }
+    }
+
+    private static ConflictId conflictId(Map<Integer, ConflictId> ids, Integer key, int depth) {
+        ConflictId id = ids.get(key);
+        if (id == null) {
+            // the conflict id of nodes without dependency is null, as with the conflict marker
+            id = new ConflictId(NO_KEY.equals(key) ? null : key, depth);
+            ids.put(key, id);
+        } else {
+            id.pullup(depth);
+        }
+        return id;
+    }
+
+    private static Integer keyOf(DependencyNode node, Map<DependencyNode, Object> table, KeySets keySets) {
+        Object key = table.get(node);
+        if (key != null) {
+            return (Integer) key;
+        }
+        Dependency dependency = node.getDependency();
+        return dependency != null ? keySets.id(dependency.getArtifact()) : NO_KEY;
+    }
+
+    private static Integer groupOf(DependencyNode node, Map<DependencyNode, Object> table, KeySets keySets) {
+        Integer key = (Integer) table.get(node);
+        return NO_KEY.equals(key) ? NO_KEY : keySets.find(key);
+    }
+
+    private static boolean unionAliases(DependencyNode node, Integer key, KeySets keySets) {
+        boolean merged = false;
+        if (!NO_KEY.equals(key)) {
+            for (Artifact relocation : node.getRelocations()) {
+                merged |= keySets.union(key, keySets.id(relocation));
+            }
+            for (Artifact alias : node.getAliases()) {
+                merged |= keySets.union(key, keySets.id(alias));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Replaces the sorted conflict ids (final key ids) with their positions, and turns the node table into conflict id
+     * mapping using those positions.
+     */
+    private static void renumber(
+            Map<DependencyNode, Object> table, KeySets keySets, DependencyGraphTransformationContext context) {
+        @SuppressWarnings("unchecked")
+        List<Object> sorted = (List<Object>) context.get(TransformationContextKeys.SORTED_CONFLICT_IDS);
+        Integer[] positions = new Integer[keySets.size()];
+        List<Object> dense = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Object key = sorted.get(i);
+            if (key == null) {
+                dense.add(null);
+            } else {
+                Integer position = i;
+                positions[(Integer) key] = position;
+                dense.add(position);
+            }
+        }
+
+        for (Iterator<Map.Entry<DependencyNode, Object>> it = table.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<DependencyNode, Object> entry = it.next();
+            Integer key = (Integer) entry.getValue();
+            if (NO_KEY.equals(key)) {
+                it.remove();
+            } else {
+                entry.setValue(positions[keySets.find(key)]);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Collection<Collection<Object>> cycles =
+                (Collection<Collection<Object>>) context.get(TransformationContextKeys.CYCLIC_CONFLICT_IDS);
+        if (!cycles.isEmpty()) {
+            Collection<Collection<Object>> denseCycles = new HashSet<>();
+            for (Collection<Object> cycle : cycles) {
+                Collection<Object> denseCycle = new HashSet<>();
+                for (Object key : cycle) {
+                    denseCycle.add(key != null ? positions[(Integer) key] : null);
+                }
+                denseCycles.add(denseCycle);
+            }
+            cycles = denseCycles;
+        }
+
+        context.put(TransformationContextKeys.CONFLICT_IDS, table);
+        context.put(TransformationContextKeys.SORTED_CONFLICT_IDS, dense);
+        context.put(TransformationContextKeys.CYCLIC_CONFLICT_IDS, cycles);
+        context.put(TransformationContextKeys.DENSE_CONFLICT_IDS, Boolean.TRUE);
+    }
+
+    private static final class Frame {
+        final Iterator<DependencyNode> children;
+
+        final ConflictId id;
+
+        final int depth;
+
+        Frame(DependencyNode node, ConflictId id, int depth) {
+            this.children = node.getChildren().iterator();
+            this.id = id;
+            this.depth = depth;
+        }
+    }
+}
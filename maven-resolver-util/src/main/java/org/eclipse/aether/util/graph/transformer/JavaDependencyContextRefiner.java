@@ -18,6 +18,12 @@
  */
 package org.eclipse.aether.util.graph.transformer;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.collection.DependencyGraphTransformationContext;
 import org.eclipse.aether.collection.DependencyGraphTransformer;
@@ -40,6 +46,26 @@ public final class JavaDependencyContextRefiner implements DependencyGraphTransf
             throws RepositoryException {
         requireNonNull(node, "node cannot be null");
         requireNonNull(context, "context cannot be null");
+
+        // refining is idempotent, hence every node needs to be visited once only
+        Set<DependencyNode> visited = Collections.newSetFromMap(new IdentityHashMap<>(256));
+        Deque<DependencyNode> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            DependencyNode current = stack.pop();
+            if (!visited.add(current)) {
+                continue;
+            }
+            refine(current);
+            for (DependencyNode child : current.getChildren()) {
+                stack.push(child);
+            }
+        }
+
+        return node;
+    }
+
+    private void refine(DependencyNode node) {
         String ctx = node.getRequestContext();
 
         if ("project".equals(ctx)) {
@@ -49,12 +75,6 @@ public final class JavaDependencyContextRefiner implements DependencyGraphTransf
                 node.setRequestContext(ctx);
             }
         }
-
-        for (DependencyNode child : node.getChildren()) {
-            transformGraph(child, context);
-        }
-
-        return node;
     }
 
     private String getClasspathScope(DependencyNode node) {
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.transformer;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A conflict loser retained in the graph by {@link ConflictResolver} in verbose mode. Instead of being a full copy
+ * of the node it replaces, it only holds what differs from it: the dependency (with the scope chosen by the conflict
+ * resolution) and the winner. Everything else is read from a childless copy of the replaced node, which all losers
+ * replacing that node share and which is never modified through them. The custom data is presented as the data of
+ * that copy overlaid with the {@link ConflictResolver#NODE_DATA_WINNER},
+ * {@link ConflictResolver#NODE_DATA_ORIGINAL_SCOPE} and {@link ConflictResolver#NODE_DATA_ORIGINAL_OPTIONALITY}
+ * entries, and is copied into a map of its own only once the data of the loser is modified.
+ *
+ * @since 1.9.9
+ */
+final class LoserDependencyNode implements DependencyNode {
+    private final DependencyNode node;
+
+    private final DependencyNode winner;
+
+    private Dependency dependency;
+
+    private List<DependencyNode> children;
+
+    private String context;
+
+    private Map<?, ?> data;
+
+    /**
+     * Creates a loser reading its unchanged attributes from the specified node, that must have a dependency. The node
+     * should not have children, as those would be kept reachable by the loser.
+     */
+    LoserDependencyNode(DependencyNode node, DependencyNode winner, String scope) {
+        this.node = node;
+        this.winner = winner;
+        this.dependency = node.getDependency().setScope(scope);
+        this.children = Collections.emptyList();
+        this.data = new OverlayData();
+    }
+
+    @Override
+    public List<DependencyNode> getChildren() {
+        return children;
+    }
+
+    @Override
+    public void setChildren(List<DependencyNode> children) {
+        if (children == null) {
+            this.children = new ArrayList<>(0);
+        } else {
+            this.children = children;
+        }
+    }
+
+    @Override
+    public Dependency getDependency() {
+        return dependency;
+    }
+
+    @Override
+    public Artifact getArtifact() {
+        return dependency.getArtifact();
+    }
+
+    @Override
+    public void setArtifact(Artifact artifact) {
+        dependency = dependency.setArtifact(artifact);
+    }
+
+    @Override
+    public List<? extends Artifact> getRelocations() {
+        return node.getRelocations();
+    }
+
+    @Override
+    public Collection<? extends Artifact> getAliases() {
+        return node.getAliases();
+    }
+
+    @Override
+    public VersionConstraint getVersionConstraint() {
+        return node.getVersionConstraint();
+    }
+
+    @Override
+    public Version getVersion() {
+        return node.getVersion();
+    }
+
+    @Override
+    public void setScope(String scope) {
+        dependency = dependency.setScope(scope);
+    }
+
+    @Override
+    public void setOptional(Boolean optional) {
+        dependency = dependency.setOptional(optional);
+    }
+
+    @Override
+    public int getManagedBits() {
+        return node.getManagedBits();
+    }
+
+    @Override
+    public List<RemoteRepository> getRepositories() {
+        return node.getRepositories();
+    }
+
+    @Override
+    public String getRequestContext() {
+        return (context != null) ? context : node.getRequestContext();
+    }
+
+    @Override
+    public void setRequestContext(String context) {
+        this.context = (context != null) ? context : "";
+    }
+
+    @Override
+    public Map<?, ?> getData() {
+        return data;
+    }
+
+    @Override
+    public void setData(Map<Object, Object> data) {
+        if (data == null) {
+            this.data = Collections.emptyMap();
+        } else {
+            this.data = data;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setData(Object key, Object value) {
+        requireNonNull(key, "key cannot be null");
+
+        if (data instanceof OverlayData) {
+            data = new HashMap<>(data);
+        }
+        Map<Object, Object> map = (Map<Object, Object>) data;
+        if (value == null) {
+            if (!map.isEmpty()) {
+                map.remove(key);
+            }
+        } else {
+            if (map.isEmpty()) {
+                map = new HashMap<>(1, 2);
+                data = map;
+            }
+            map.put(key, value);
+        }
+    }
+
+    @Override
+    public boolean accept(DependencyVisitor visitor) {
+        if (visitor.visitEnter(this)) {
+            for (DependencyNode child : children) {
+                if (!child.accept(visitor)) {
+                    break;
+                }
+            }
+        }
+
+        return visitor.visitLeave(this);
+    }
+
+    @Override
+    public String toString() {
+        return dependency.toString();
+    }
+
+    /**
+     * The read-only data of the replaced node, overlaid with the loser specific entries.
+     */
+    private final class OverlayData extends AbstractMap<Object, Object> {
+        @Override
+        public Object get(Object key) {
+            if (ConflictResolver.NODE_DATA_WINNER.equals(key)) {
+                return winner;
+            } else if (ConflictResolver.NODE_DATA_ORIGINAL_SCOPE.equals(key)) {
+                return node.getDependency().getScope();
+            } else if (ConflictResolver.NODE_DATA_ORIGINAL_OPTIONALITY.equals(key)) {
+                return node.getDependency().isOptional();
+            }
+            return node.getData().get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return isOverlaid(key) || node.getData().containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<Object, Object>> entrySet() {
+            return new AbstractSet<Entry<Object, Object>>() {
+                @Override
+                public Iterator<Entry<Object, Object>> iterator() {
+                    Map<?, ?> nodeData = node.getData();
+                    Dependency original = node.getDependency();
+                    List<Entry<Object, Object>> entries = new ArrayList<>(nodeData.size() + 3);
+                    entries.add(new SimpleImmutableEntry<>(ConflictResolver.NODE_DATA_WINNER, winner));
+                    entries.add(
+                            new SimpleImmutableEntry<>(ConflictResolver.NODE_DATA_ORIGINAL_SCOPE, original.getScope()));
+                    entries.add(new SimpleImmutableEntry<>(
+                            ConflictResolver.NODE_DATA_ORIGINAL_OPTIONALITY, original.isOptional()));
+                    for (Entry<?, ?> entry : nodeData.entrySet()) {
+                        if (!isOverlaid(entry.getKey())) {
+                            entries.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+                        }
+                    }
+                    return Collections.unmodifiableList(entries).iterator();
+                }
+
+                @Override
+                public int size() {
+                    int size = 3;
+                    for (Object key : node.getData().keySet()) {
+                        if (!isOverlaid(key)) {
+                            size++;
+                        }
+                    }
+                    return size;
+                }
+            };
+        }
+
+        private boolean isOverlaid(Object key) {
+            return ConflictResolver.NODE_DATA_WINNER.equals(key)
+                    || ConflictResolver.NODE_DATA_ORIGINAL_SCOPE.equals(key)
+                    || ConflictResolver.NODE_DATA_ORIGINAL_OPTIONALITY.equals(key);
+        }
+    }
+}
@@ -52,6 +52,16 @@ public final class TransformationContextKeys {
      */
     public static final Object CYCLIC_CONFLICT_IDS = "cyclicConflictIds";
 
+    /**
+     * The key in the graph transformation context where a {@link Boolean} flag is stored, denoting that conflict ids
+     * stored under {@link #CONFLICT_IDS} are {@link Integer} positions of conflict ids within
+     * {@link #SORTED_CONFLICT_IDS}, which allows using them as indices as they are.
+     *
+     * @see FusedDependencyGraphTransformer
+     * @since 1.9.9
+     */
+    static final Object DENSE_CONFLICT_IDS = "denseConflictIds";
+
     /**
      * The key in the graph transformation context where a {@code Map<String, Object>} is stored that can be used to
      * include some runtime/performance stats in the debug log. If this map is not present, no stats should be recorded.
@@ -0,0 +1,394 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable map, implemented as hash array mapped trie, where {@link #plus(Object, Object)} returns a new map
+ * sharing all but the changed path with this map. Hence, deriving a map costs proportionally to the count of changes,
+ * not to the size of the map, and the maps derived from each other take little extra memory. The hash code of the map
+ * is maintained incrementally, and is available in constant time. Neither keys nor values can be {@code null}.
+ * <p>
+ * <em>Note:</em> This class is internal to the dependency managers and selectors of this module, it is not part of the
+ * API and may change or vanish without notice. Its package is not exported.
+ *
+ * @param <K> The type of keys.
+ * @param <V> The type of values.
+ * @since 1.9.9
+ * @noreference This class is not intended to be used by clients.
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0, 0);
+
+    private final Node root;
+
+    private final int size;
+
+    private final int hash;
+
+    private PersistentHashMap(Node root, int size, int hash) {
+        this.root = root;
+        this.size = size;
+        this.hash = hash;
+    }
+
+    /**
+     * Returns the empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a map with the specified mapping added or replaced, or this map, if it already contains the mapping.
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        requireNonNull(key, "key cannot be null");
+        requireNonNull(value, "value cannot be null");
+        Change change = new Change();
+        Node newRoot = root.put(0, key.hashCode(), key, value, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, change.added ? size + 1 : size, hash + change.hashDelta);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        return (V) root.get(0, key.hashCode(), key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                List<Entry<K, V>> entries = new ArrayList<>(size);
+                root.collect((List<Entry<?, ?>>) (List<?>) entries);
+                return Collections.unmodifiableList(entries).iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Compares the tries node by node, skipping shared subtries, and looks the entries of this map up in the other map
+     * only where the shapes of the tries differ. No entries are copied.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!(obj instanceof Map)) {
+            return false;
+        }
+        Map<?, ?> that = (Map<?, ?>) obj;
+        if (size != that.size()) {
+            return false;
+        } else if (obj instanceof PersistentHashMap) {
+            PersistentHashMap<?, ?> other = (PersistentHashMap<?, ?>) obj;
+            return hash == other.hash && (root == other.root || root.equalTo(other.root, other));
+        }
+        try {
+            return root.containedIn(that);
+        } catch (ClassCastException | NullPointerException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * The outcome of a put, besides the new node.
+     */
+    private static final class Change {
+        boolean added;
+
+        int hashDelta;
+    }
+
+    private abstract static class Node {
+        abstract Object get(int shift, int hash, Object key);
+
+        abstract Node put(int shift, int hash, Object key, Object value, Change change);
+
+        abstract void collect(List<Entry<?, ?>> entries);
+
+        /**
+         * Tells whether all the entries of this node are contained in the specified map.
+         */
+        abstract boolean containedIn(Map<?, ?> map);
+
+        /**
+         * Tells whether this node has the same entries as the specified node, at the same position in the trie of the
+         * specified map. Entries not matched structurally are looked up in the map.
+         */
+        boolean equalTo(Node other, Map<?, ?> otherMap) {
+            return containedIn(otherMap);
+        }
+
+        static int entryHash(Object key, Object value) {
+            return key.hashCode() ^ value.hashCode();
+        }
+
+        static Node pair(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            int hash1 = key1.hashCode();
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+            }
+            Change ignored = new Change();
+            return BitmapNode.EMPTY.put(shift, hash1, key1, value1, ignored).put(shift, hash2, key2, value2, ignored);
+        }
+    }
+
+    /**
+     * A node holding up to 32 slots, each either a key and value, or {@code null} and a child node.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        private final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                return ((Node) v).get(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? v : null;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, Change change) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                System.arraycopy(array, index, newArray, index + 2, array.length - index);
+                change.added = true;
+                change.hashDelta = entryHash(key, value);
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object k = array[index];
+            Object v = array[index + 1];
+            Node child;
+            if (k == null) {
+                child = ((Node) v).put(shift + BITS, hash, key, value, change);
+                if (child == v) {
+                    return this;
+                }
+            } else if (key.equals(k)) {
+                if (value.equals(v)) {
+                    return this;
+                }
+                Object[] newArray = array.clone();
+                newArray[index + 1] = value;
+                change.hashDelta = entryHash(key, value) - entryHash(k, v);
+                return new BitmapNode(bitmap, newArray);
+            } else {
+                child = pair(shift + BITS, k, v, hash, key, value);
+                change.added = true;
+                change.hashDelta = entryHash(key, value);
+            }
+            Object[] newArray = array.clone();
+            newArray[index] = null;
+            newArray[index + 1] = child;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        @Override
+        void collect(List<Entry<?, ?>> entries) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).collect(entries);
+                } else {
+                    entries.add(new SimpleImmutableEntry<>(array[i], array[i + 1]));
+                }
+            }
+        }
+
+        @Override
+        boolean containedIn(Map<?, ?> map) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (!slotContainedIn(i, map)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        boolean equalTo(Node other, Map<?, ?> otherMap) {
+            if (!(other instanceof BitmapNode) || ((BitmapNode) other).bitmap != bitmap) {
+                return containedIn(otherMap);
+            }
+            Object[] otherArray = ((BitmapNode) other).array;
+            for (int i = 0; i < array.length; i += 2) {
+                Object k = array[i];
+                Object v = array[i + 1];
+                Object otherK = otherArray[i];
+                Object otherV = otherArray[i + 1];
+                boolean equal;
+                if (k == null && otherK == null) {
+                    equal = v == otherV || ((Node) v).equalTo((Node) otherV, otherMap);
+                } else if (k != null && otherK != null) {
+                    equal = k.equals(otherK) && v.equals(otherV);
+                } else {
+                    equal = slotContainedIn(i, otherMap);
+                }
+                if (!equal) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean slotContainedIn(int index, Map<?, ?> map) {
+            Object k = array[index];
+            Object v = array[index + 1];
+            return k == null ? ((Node) v).containedIn(map) : v.equals(map.get(k));
+        }
+    }
+
+    /**
+     * A node holding keys and values of keys having same hash code.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return array[i + 1];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, Change change) {
+            if (hash != this.hash) {
+                // nest this node into a bitmap node at its place, then put the key there
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(bit, new Object[] {null, this}).put(shift, hash, key, value, change);
+            }
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    if (value.equals(array[i + 1])) {
+                        return this;
+                    }
+                    Object[] newArray = array.clone();
+                    newArray[i + 1] = value;
+                    change.hashDelta = entryHash(key, value) - entryHash(array[i], array[i + 1]);
+                    return new CollisionNode(hash, newArray);
+                }
+            }
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            change.added = true;
+            change.hashDelta = entryHash(key, value);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        void collect(List<Entry<?, ?>> entries) {
+            for (int i = 0; i < array.length; i += 2) {
+                entries.add(new SimpleImmutableEntry<>(array[i], array[i + 1]));
+            }
+        }
+
+        @Override
+        boolean containedIn(Map<?, ?> map) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (!array[i + 1].equals(map.get(array[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -36,10 +36,20 @@ import static java.util.Objects.requireNonNull;
  */
 final class GenericVersion implements Version {
 
+    private static final int PAD_ANY = 0;
+
+    private static final int PAD_NUMBERS = 1;
+
+    private static final int PAD_NON_NUMBERS = 2;
+
     private final String version;
 
     private final List<Item> items;
 
+    private final long[] keys;
+
+    private final byte[] pads;
+
     private final int hash;
 
     /**
@@ -50,6 +60,13 @@ final class GenericVersion implements Version {
     GenericVersion(String version) {
         this.version = requireNonNull(version, "version cannot be null");
         items = parse(version);
+        keys = new long[items.size()];
+        pads = new byte[items.size()];
+        for (int i = 0; i < keys.length; i++) {
+            Item item = items.get(i);
+            keys[i] = item.toKey();
+            pads[i] = (byte) Integer.signum(item.compareTo(null));
+        }
         hash = items.hashCode();
     }
 
@@ -102,55 +119,61 @@ final class GenericVersion implements Version {
         }
     }
 
+    /**
+     * Compares the precomputed item keys of both versions, only items of the same kind holding a big integer or a
+     * string need to look at the items themselves.
+     */
     @Override
     public int compareTo(Version obj) {
-        final List<Item> these = items;
-        final List<Item> those = ((GenericVersion) obj).items;
+        final GenericVersion that = (GenericVersion) obj;
+        final long[] these = keys;
+        final long[] those = that.keys;
 
         boolean number = true;
 
         for (int index = 0; ; index++) {
-            if (index >= these.size() && index >= those.size()) {
+            if (index >= these.length && index >= those.length) {
                 return 0;
-            } else if (index >= these.size()) {
-                return -comparePadding(those, index, null);
-            } else if (index >= those.size()) {
-                return comparePadding(these, index, null);
+            } else if (index >= these.length) {
+                return -that.comparePadding(index, PAD_ANY);
+            } else if (index >= those.length) {
+                return comparePadding(index, PAD_ANY);
             }
 
-            Item thisItem = these.get(index);
-            Item thatItem = those.get(index);
+            long thisKey = these[index];
+            long thatKey = those[index];
+            boolean thisNumber = Item.isNumberKey(thisKey);
 
-            if (thisItem.isNumber() != thatItem.isNumber()) {
-                if (number == thisItem.isNumber()) {
-                    return comparePadding(these, index, number);
+            if (thisNumber != Item.isNumberKey(thatKey)) {
+                int pad = number ? PAD_NUMBERS : PAD_NON_NUMBERS;
+                if (number == thisNumber) {
+                    return comparePadding(index, pad);
                 } else {
-                    return -comparePadding(those, index, number);
+                    return -that.comparePadding(index, pad);
                 }
-            } else {
-                int rel = thisItem.compareTo(thatItem);
+            } else if (thisKey != thatKey) {
+                return (thisKey < thatKey) ? -1 : 1;
+            } else if (Item.hasValueKey(thisKey)) {
+                int rel = items.get(index).compareTo(that.items.get(index));
                 if (rel != 0) {
                     return rel;
                 }
-                number = thisItem.isNumber();
             }
+            number = thisNumber;
         }
     }
 
-    private static int comparePadding(List<Item> items, int index, Boolean number) {
-        int rel = 0;
-        for (int i = index; i < items.size(); i++) {
-            Item item = items.get(i);
-            if (number != null && number != item.isNumber()) {
+    private int comparePadding(int index, int pad) {
+        for (int i = index; i < keys.length; i++) {
+            if (pad != PAD_ANY && (pad == PAD_NUMBERS) != Item.isNumberKey(keys[i])) {
                 // do not stop here, but continue, skipping non-number members
                 continue;
             }
-            rel = item.compareTo(null);
-            if (rel != 0) {
-                break;
+            if (pads[i] != 0) {
+                return pads[i];
             }
         }
-        return rel;
+        return 0;
     }
 
     @Override
@@ -341,6 +364,27 @@ final class GenericVersion implements Version {
             return (kind & KIND_QUALIFIER) == 0; // i.e. kind != string/qualifier
         }
 
+        /**
+         * Encodes the item as a key that sorts like the item: the kind in the upper half and, for the kinds holding an
+         * integer, the value in the lower half. Items of other kinds with equal keys must be compared by value.
+         */
+        long toKey() {
+            long key = (long) kind << Integer.SIZE;
+            if (kind == KIND_INT || kind == KIND_QUALIFIER) {
+                key |= (long) (Integer) value - Integer.MIN_VALUE;
+            }
+            return key;
+        }
+
+        static boolean isNumberKey(long key) {
+            return ((key >>> Integer.SIZE) & KIND_QUALIFIER) == 0;
+        }
+
+        static boolean hasValueKey(long key) {
+            int kind = (int) (key >>> Integer.SIZE);
+            return kind == KIND_BIGINT || kind == KIND_STRING;
+        }
+
         public int compareTo(Item that) {
             int rel;
             if (that == null) {
@@ -19,7 +19,11 @@
 package org.eclipse.aether.util.version;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.aether.version.InvalidVersionSpecificationException;
 import org.eclipse.aether.version.VersionScheme;
@@ -54,23 +58,98 @@ import static java.util.Objects.requireNonNull;
 public final class GenericVersionScheme implements VersionScheme {
 
     /**
-     * Creates a new instance of the version scheme for parsing versions.
+     * The default maximum number of parsed versions, ranges and constraints cached by each instance, per kind.
+     *
+     * @since 1.9.9
      */
-    public GenericVersionScheme() {}
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private final ParseCache<GenericVersion> versions;
+
+    private final ParseCache<GenericVersionRange> ranges;
+
+    private final ParseCache<GenericVersionConstraint> constraints;
+
+    /**
+     * Creates a new instance of the version scheme for parsing versions, caching up to {@link #DEFAULT_CACHE_SIZE}
+     * parsed instances per kind.
+     */
+    public GenericVersionScheme() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new instance of the version scheme for parsing versions. As versions, ranges and constraints are
+     * immutable, parsed instances are cached and repeated parsing of the same string becomes a lookup. The cache
+     * only takes memory as strings get parsed, it is not allocated upfront.
+     * <p>
+     * The cache size is not a configuration property: it can only be set with this constructor, and instances created
+     * with the default constructor (as is the case for the version scheme components provided to the resolver) use
+     * {@link #DEFAULT_CACHE_SIZE}.
+     *
+     * @param cacheSize The maximum number of parsed versions, ranges and constraints to cache per kind, {@code 0} to
+     *            disable caching.
+     * @since 1.9.9
+     */
+    public GenericVersionScheme(final int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cache size cannot be negative");
+        }
+        this.versions = new ParseCache<>(cacheSize);
+        this.ranges = new ParseCache<>(cacheSize);
+        this.constraints = new ParseCache<>(cacheSize);
+    }
 
     @Override
     public GenericVersion parseVersion(final String version) throws InvalidVersionSpecificationException {
-        return new GenericVersion(version);
+        GenericVersion result = versions.get(version);
+        if (result == null) {
+            result = versions.put(version, new GenericVersion(version));
+        }
+        return result;
     }
 
     @Override
     public GenericVersionRange parseVersionRange(final String range) throws InvalidVersionSpecificationException {
-        return new GenericVersionRange(range);
+        GenericVersionRange result = ranges.get(range);
+        if (result == null) {
+            result = ranges.put(range, new GenericVersionRange(range));
+        }
+        return result;
     }
 
     @Override
     public GenericVersionConstraint parseVersionConstraint(final String constraint)
             throws InvalidVersionSpecificationException {
+        GenericVersionConstraint result = constraints.get(constraint);
+        if (result == null) {
+            result = constraints.put(constraint, newVersionConstraint(constraint));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of parse requests served from the cache so far.
+     *
+     * @return The number of cache hits.
+     * @since 1.9.9
+     */
+    public long getCacheHits() {
+        return versions.hits.sum() + ranges.hits.sum() + constraints.hits.sum();
+    }
+
+    /**
+     * Gets the number of parse requests that had to actually parse the string so far.
+     *
+     * @return The number of cache misses.
+     * @since 1.9.9
+     */
+    public long getCacheMisses() {
+        return versions.misses.sum() + ranges.misses.sum() + constraints.misses.sum();
+    }
+
+    private GenericVersionConstraint newVersionConstraint(final String constraint)
+            throws InvalidVersionSpecificationException {
         String process = requireNonNull(constraint, "constraint cannot be null");
 
         Collection<GenericVersionRange> ranges = new ArrayList<>();
@@ -113,6 +192,73 @@ public final class GenericVersionScheme implements VersionScheme {
         return result;
     }
 
+    /**
+     * A concurrent cache of parsed instances keyed by their string. Once full, each new entry replaces a randomly
+     * chosen one: unlike a LRU, this needs no bookkeeping on hits and still serves a share of the lookups when the
+     * strings parsed repeatedly outnumber the cache size. Lookups are lock free, while adding an entry, which follows
+     * the parsing of a string anyway, is synchronized.
+     */
+    private static final class ParseCache<T> {
+        private static final int INITIAL_KEYS = 16;
+
+        private final int maxSize;
+
+        private final ConcurrentHashMap<String, T> cache;
+
+        /**
+         * The keys of the cache, each slot holding at most one key present in the cache. Grown on demand up to the
+         * maximum size of the cache, guarded by this.
+         */
+        private String[] keys;
+
+        private int filled;
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        ParseCache(int maxSize) {
+            this.maxSize = maxSize;
+            this.cache = maxSize > 0 ? new ConcurrentHashMap<>() : null;
+        }
+
+        T get(String key) {
+            T value = (cache != null && key != null) ? cache.get(key) : null;
+            if (value != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+            return value;
+        }
+
+        T put(String key, T value) {
+            if (cache == null) {
+                return value;
+            }
+            T existing = cache.putIfAbsent(key, value);
+            if (existing != null) {
+                return existing;
+            }
+            synchronized (this) {
+                if (keys == null) {
+                    keys = new String[Math.min(INITIAL_KEYS, maxSize)];
+                } else if (filled == keys.length && keys.length < maxSize) {
+                    keys = Arrays.copyOf(keys, (int) Math.min(2L * keys.length, maxSize));
+                }
+                int slot = filled < keys.length
+                        ? filled++
+                        : ThreadLocalRandom.current().nextInt(keys.length);
+                String evicted = keys[slot];
+                keys[slot] = key;
+                if (evicted != null) {
+                    cache.remove(evicted);
+                }
+            }
+            return value;
+        }
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
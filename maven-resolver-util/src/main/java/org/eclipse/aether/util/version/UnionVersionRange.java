@@ -18,18 +18,23 @@
  */
 package org.eclipse.aether.util.version;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.aether.version.Version;
 import org.eclipse.aether.version.VersionRange;
 
+import static java.util.Objects.requireNonNull;
+
 /**
- * A union of version ranges.
+ * A union of version ranges. If all the member ranges are generic version ranges, the union is normalized into
+ * merged, sorted and non-overlapping intervals, so containment is checked with a binary search.
  */
 public final class UnionVersionRange implements VersionRange {
 
@@ -39,6 +44,12 @@ public final class UnionVersionRange implements VersionRange {
 
     private final Bound upperBound;
 
+    /**
+     * The merged intervals of the member ranges, sorted by lower bound, or {@code null} if a member range is not a
+     * generic version range (or a union of those) and the intervals can not be determined.
+     */
+    private final Bound[][] intervals;
+
     /**
      * Creates union {@link VersionRange}s out of passed in {@link VersionRange} instances.
      *
@@ -68,6 +79,7 @@ public final class UnionVersionRange implements VersionRange {
             this.ranges = Collections.emptySet();
             lowerBound = null;
             upperBound = null;
+            intervals = new Bound[0][];
         } else {
             this.ranges = new HashSet<>(ranges);
             Bound lowerBound = null, upperBound = null;
@@ -101,17 +113,151 @@ public final class UnionVersionRange implements VersionRange {
             }
             this.lowerBound = lowerBound;
             this.upperBound = upperBound;
+            this.intervals = toIntervals(this.ranges);
+        }
+    }
+
+    private static Bound[][] toIntervals(Collection<VersionRange> ranges) {
+        List<Bound[]> intervals = new ArrayList<>();
+        for (VersionRange range : ranges) {
+            if (range instanceof GenericVersionRange) {
+                intervals.add(new Bound[] {range.getLowerBound(), range.getUpperBound()});
+            } else if (range instanceof UnionVersionRange && ((UnionVersionRange) range).intervals != null) {
+                intervals.addAll(Arrays.asList(((UnionVersionRange) range).intervals));
+            } else {
+                return null;
+            }
+        }
+
+        intervals.sort((i1, i2) -> compareLowerBounds(i1[0], i2[0]));
+
+        List<Bound[]> merged = new ArrayList<>(intervals.size());
+        Bound[] current = null;
+        for (Bound[] interval : intervals) {
+            if (current == null || !isConnected(current[1], interval[0])) {
+                current = interval.clone();
+                merged.add(current);
+            } else if (compareUpperBounds(interval[1], current[1]) > 0) {
+                current[1] = interval[1];
+            }
+        }
+        return merged.toArray(new Bound[merged.size()][]);
+    }
+
+    private static int compareLowerBounds(Bound b1, Bound b2) {
+        if (b1 == null || b2 == null) {
+            return b1 == b2 ? 0 : (b1 == null ? -1 : 1);
+        }
+        int rel = b1.getVersion().compareTo(b2.getVersion());
+        if (rel == 0 && b1.isInclusive() != b2.isInclusive()) {
+            rel = b1.isInclusive() ? -1 : 1;
+        }
+        return rel;
+    }
+
+    private static int compareUpperBounds(Bound b1, Bound b2) {
+        if (b1 == null || b2 == null) {
+            return b1 == b2 ? 0 : (b1 == null ? 1 : -1);
+        }
+        int rel = b1.getVersion().compareTo(b2.getVersion());
+        if (rel == 0 && b1.isInclusive() != b2.isInclusive()) {
+            rel = b1.isInclusive() ? 1 : -1;
+        }
+        return rel;
+    }
+
+    /**
+     * Tells whether an interval starting at the lower bound overlaps or touches an interval ending at the upper bound,
+     * given the interval ending at the upper bound does not start after the other one.
+     */
+    private static boolean isConnected(Bound upper, Bound lower) {
+        if (upper == null || lower == null) {
+            return true;
+        }
+        int rel = lower.getVersion().compareTo(upper.getVersion());
+        return rel < 0 || (rel == 0 && (lower.isInclusive() || upper.isInclusive()));
+    }
+
+    private static boolean isAboveLowerBound(Bound lower, Version version) {
+        if (lower == null) {
+            return true;
+        }
+        int rel = lower.getVersion().compareTo(version);
+        return rel < 0 || (rel == 0 && lower.isInclusive());
+    }
+
+    private static boolean isBelowUpperBound(Bound upper, Version version) {
+        if (upper == null) {
+            return true;
         }
+        int rel = upper.getVersion().compareTo(version);
+        return rel > 0 || (rel == 0 && upper.isInclusive());
     }
 
     @Override
     public boolean containsVersion(Version version) {
-        for (VersionRange range : ranges) {
-            if (range.containsVersion(version)) {
-                return true;
+        if (intervals == null) {
+            for (VersionRange range : ranges) {
+                if (range.containsVersion(version)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // find the last interval whose lower bound is not greater than the version
+        int low = 0;
+        int high = intervals.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Bound lower = intervals[mid][0];
+            if (lower == null || lower.getVersion().compareTo(version) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (high < 0) {
+            return false;
+        }
+        return isAboveLowerBound(intervals[high][0], version) && isBelowUpperBound(intervals[high][1], version);
+    }
+
+    /**
+     * Filters the specified versions, keeping the ones contained in this range. The versions are filtered in one pass
+     * over the versions and the merged intervals of this range, so they must be sorted in ascending order.
+     *
+     * @param versions The versions to filter, sorted in ascending order, must not be {@code null}.
+     * @param <T> The version type.
+     * @return The contained versions, in their original order, never {@code null}.
+     * @since 1.9.9
+     */
+    public <T extends Version> List<T> filterVersions(List<T> versions) {
+        requireNonNull(versions, "versions cannot be null");
+        List<T> result = new ArrayList<>(versions.size());
+        if (intervals == null) {
+            for (T version : versions) {
+                if (containsVersion(version)) {
+                    result.add(version);
+                }
+            }
+            return result;
+        }
+
+        int index = 0;
+        for (T version : versions) {
+            // skip the intervals ending below the version
+            while (index < intervals.length && !isBelowUpperBound(intervals[index][1], version)) {
+                index++;
+            }
+            if (index >= intervals.length) {
+                break;
+            }
+            if (isAboveLowerBound(intervals[index][0], version)) {
+                result.add(version);
             }
         }
-        return false;
+        return result;
     }
 
     @Override
@@ -168,6 +168,30 @@ public class PatternInclusionsDependencyFilterTest extends AbstractDependencyFil
         assertFalse(prefix + "(1.0.2,1.0.3)", acceptVersionRange(node, prefix + "(1.0.2,1.0.3)", prefix + "(1.0.3,)"));
     }
 
+    @Test
+    public void acceptTestSharedPrefixes() {
+        NodeBuilder builder = new NodeBuilder();
+        builder.groupId("com.example.test")
+                .artifactId("testArtifact")
+                .ext("jar")
+                .version("1.0.3");
+        DependencyNode node = builder.build();
+        List<DependencyNode> parents = new LinkedList<>();
+
+        // exact branch matching the group id must not hide the wildcard branch matching the rest
+        assertTrue(new PatternInclusionsDependencyFilter(
+                        "com.example.test:otherArtifact", "com.example.*:testArtifact:jar:1.0.3")
+                .accept(node, parents));
+        assertTrue(new PatternInclusionsDependencyFilter(
+                        new GenericVersionScheme(),
+                        "com.example.test:testArtifact:jar:[2,)",
+                        "com.example.test:testArtifact:*:[1,2)")
+                .accept(node, parents));
+        assertFalse(new PatternInclusionsDependencyFilter(
+                        "com.example.test:otherArtifact", "com.example.*:testArtifact:war", "*:*:jar:2.*")
+                .accept(node, parents));
+    }
+
     public boolean accept(DependencyNode node, String expression) {
         return new PatternInclusionsDependencyFilter(expression).accept(node, new LinkedList<DependencyNode>());
     }
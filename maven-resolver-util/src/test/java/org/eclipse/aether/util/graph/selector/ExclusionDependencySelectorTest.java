@@ -18,9 +18,14 @@
  */
 package org.eclipse.aether.util.graph.selector;
 
+import java.util.Arrays;
 import java.util.Collections;
 
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.internal.test.util.TestUtils;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -33,4 +38,52 @@ public class ExclusionDependencySelectorTest {
                 new ExclusionDependencySelector(Collections.singletonList(new Exclusion("a", "b", "c", "d")))
                         .toString());
     }
+
+    private static Dependency dependency(String coords) {
+        return new Dependency(new DefaultArtifact(coords), "compile");
+    }
+
+    @Test
+    public void testSelectDependency() {
+        ExclusionDependencySelector selector = new ExclusionDependencySelector(Arrays.asList(
+                new Exclusion("g1", "a1", "*", "*"),
+                new Exclusion("g2", "*", "*", "*"),
+                new Exclusion("*", "a3", "*", "*"),
+                new Exclusion("g4", "a4", "tests", "jar")));
+
+        assertFalse(selector.selectDependency(dependency("g1:a1:1")));
+        assertTrue(selector.selectDependency(dependency("g1:a2:1")));
+        assertFalse(selector.selectDependency(dependency("g2:a2:1")));
+        assertFalse(selector.selectDependency(dependency("gx:a3:1")));
+        assertTrue(selector.selectDependency(dependency("g4:a4:1")));
+        assertFalse(selector.selectDependency(dependency("g4:a4:jar:tests:1")));
+        assertTrue(selector.selectDependency(dependency("g4:a4:pom:tests:1")));
+        assertTrue(new ExclusionDependencySelector().selectDependency(dependency("g1:a1:1")));
+    }
+
+    @Test
+    public void testDeriveChildSelector() {
+        DependencySelector parent =
+                new ExclusionDependencySelector(Collections.singletonList(new Exclusion("g1", "a1", "*", "*")));
+        Dependency withoutExclusions = dependency("gx:ax:1");
+        assertSame(
+                parent,
+                parent.deriveChildSelector(
+                        TestUtils.newCollectionContext(TestUtils.newSession(), withoutExclusions, null)));
+
+        Dependency withExclusions = withoutExclusions.setExclusions(
+                Arrays.asList(new Exclusion("g1", "a1", "*", "*"), new Exclusion("g2", "a2", "*", "*")));
+        DependencySelector child = parent.deriveChildSelector(
+                TestUtils.newCollectionContext(TestUtils.newSession(), withExclusions, null));
+        assertFalse(child.selectDependency(dependency("g1:a1:1")));
+        assertFalse(child.selectDependency(dependency("g2:a2:1")));
+        assertTrue(parent.selectDependency(dependency("g2:a2:1")));
+
+        ExclusionDependencySelector expected = new ExclusionDependencySelector(
+                Arrays.asList(new Exclusion("g2", "a2", "*", "*"), new Exclusion("g1", "a1", "*", "*")));
+        assertEquals(expected, child);
+        assertEquals(expected.hashCode(), child.hashCode());
+        assertNotEquals(parent, child);
+        assertEquals("ExclusionDependencySelector(g1:a1:*:*, g2:a2:*:*)", child.toString());
+    }
 }
@@ -18,9 +18,14 @@
  */
 package org.eclipse.aether.util.graph.transformer;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Map;
 
+import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.DependencyGraphTransformer;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.internal.test.util.DependencyGraphParser;
 import org.junit.Test;
@@ -109,4 +114,27 @@ public class ConflictMarkerTest extends AbstractDependencyGraphTransformerTest {
         assertSame(
                 ids.get(root.getChildren().get(1)), ids.get(root.getChildren().get(2)));
     }
+
+    @Test
+    public void testDeepGraph() throws Exception {
+        DependencyNode root = new DefaultDependencyNode((Dependency) null);
+        DependencyNode parent = root;
+        for (int i = 0; i < 50000; i++) {
+            DependencyNode node =
+                    new DefaultDependencyNode(new Dependency(new DefaultArtifact("gid:aid" + i % 2 + ":1"), "compile"));
+            parent.setChildren(new ArrayList<>(Collections.singletonList(node)));
+            parent = node;
+        }
+
+        assertSame(root, transform(root));
+
+        Map<?, ?> ids = (Map<?, ?>) context.get(TransformationContextKeys.CONFLICT_IDS);
+        assertNotNull(ids);
+        assertEquals(50000, ids.size());
+
+        DependencyNode first = root.getChildren().get(0);
+        DependencyNode second = first.getChildren().get(0);
+        assertSame(ids.get(first), ids.get(second.getChildren().get(0)));
+        assertNotEquals(ids.get(first), ids.get(second));
+    }
 }
@@ -20,11 +20,16 @@ package org.eclipse.aether.util.graph.transformer;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencyGraphTransformationContext;
 import org.eclipse.aether.graph.DefaultDependencyNode;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
@@ -42,6 +47,8 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ConflictResolverTest {
+    private static final long STACK_SIZE = 128 * 1024;
+
     @Test
     public void noTransformationRequired() throws RepositoryException {
         ConflictResolver resolver = makeDefaultResolver();
@@ -342,6 +349,98 @@ public class ConflictResolverTest {
         return transformedRoot;
     }
 
+    @Test
+    public void loserDataCopiedOnWrite() throws RepositoryException {
+        // root -> a -> c:1 (test)
+        //  |----> c:2
+        DependencyNode root = makeDependencyNode("some-group", "root", "1.0");
+        DependencyNode a = makeDependencyNode("some-group", "a", "1.0");
+        DependencyNode c1 = makeDependencyNode("some-group", "c", "1.0", "test");
+        DependencyNode c2 = makeDependencyNode("some-group", "c", "2.0");
+        DependencyNode d = makeDependencyNode("some-group", "d", "1.0");
+        c1.setData("custom", "value");
+        c1.setChildren(mutableList(d));
+        root.setChildren(mutableList(a, c2));
+        a.setChildren(mutableList(c1));
+
+        versionRangeClash(root, ConflictResolver.Verbosity.FULL);
+
+        DependencyNode loser = a.getChildren().get(0);
+        assertConflictedButSameAsOriginal(c1, loser);
+        assertTrue(loser.getChildren().isEmpty());
+        assertEquals(1, c1.getChildren().size());
+        assertSame(c2, loser.getData().get(ConflictResolver.NODE_DATA_WINNER));
+        assertEquals("test", loser.getData().get(ConflictResolver.NODE_DATA_ORIGINAL_SCOPE));
+        assertEquals(false, loser.getData().get(ConflictResolver.NODE_DATA_ORIGINAL_OPTIONALITY));
+        assertEquals("value", loser.getData().get("custom"));
+        assertEquals(4, loser.getData().size());
+
+        loser.setData("custom", null);
+        loser.setData("other", "value");
+        assertNull(loser.getData().get("custom"));
+        assertEquals("value", loser.getData().get("other"));
+        assertSame(c2, loser.getData().get(ConflictResolver.NODE_DATA_WINNER));
+        assertEquals(1, c1.getData().size());
+        assertEquals("value", c1.getData().get("custom"));
+
+        // once cleared, the data of replaced node must not come back
+        loser.setData(null);
+        loser.setData("other", "value");
+        assertEquals(1, loser.getData().size());
+        assertNull(loser.getData().get(ConflictResolver.NODE_DATA_WINNER));
+    }
+
+    @Test
+    public void loserDataIsSnapshot() throws RepositoryException {
+        // root -> a -> c:1
+        //  |----> c:2
+        DependencyNode root = makeDependencyNode("some-group", "root", "1.0");
+        DependencyNode a = makeDependencyNode("some-group", "a", "1.0");
+        DependencyNode c1 = makeDependencyNode("some-group", "c", "1.0");
+        DependencyNode c2 = makeDependencyNode("some-group", "c", "2.0");
+        c1.setData("custom", "value");
+        root.setChildren(mutableList(a, c2));
+        a.setChildren(mutableList(c1));
+
+        versionRangeClash(root, ConflictResolver.Verbosity.FULL);
+
+        DependencyNode loser = a.getChildren().get(0);
+        c1.setData("custom", "changed");
+        assertEquals("value", loser.getData().get("custom"));
+        assertSame(c1.getVersion(), loser.getVersion());
+        assertSame(c1.getRepositories(), loser.getRepositories());
+    }
+
+    @Test
+    public void losersOfSameNodeAreIndependent() throws RepositoryException {
+        // root -> a -> c:1
+        //  |----> b -> c:1
+        //  |----> c:2
+        DependencyNode root = makeDependencyNode("some-group", "root", "1.0");
+        DependencyNode a = makeDependencyNode("some-group", "a", "1.0");
+        DependencyNode b = makeDependencyNode("some-group", "b", "1.0");
+        DependencyNode c1 = makeDependencyNode("some-group", "c", "1.0");
+        DependencyNode c2 = makeDependencyNode("some-group", "c", "2.0");
+        root.setChildren(mutableList(a, b, c2));
+        a.setChildren(mutableList(c1));
+        b.setChildren(mutableList(c1));
+
+        versionRangeClash(root, ConflictResolver.Verbosity.FULL);
+
+        DependencyNode loserA = a.getChildren().get(0);
+        DependencyNode loserB = b.getChildren().get(0);
+        assertNotSame(loserA, loserB);
+        assertConflictedButSameAsOriginal(c1, loserA);
+        assertConflictedButSameAsOriginal(c1, loserB);
+
+        loserA.setData("custom", "value");
+        loserA.setScope("test");
+        assertEquals("value", loserA.getData().get("custom"));
+        assertNull(loserB.getData().get("custom"));
+        assertEquals("compile", loserB.getDependency().getScope());
+        assertSame(c2, loserB.getData().get(ConflictResolver.NODE_DATA_WINNER));
+    }
+
     @Test
     public void derivedScopeChange() throws RepositoryException {
         ConflictResolver resolver = makeDefaultResolver();
@@ -401,6 +500,62 @@ public class ConflictResolverTest {
         assertSame(jazNode, barNode.getChildren().get(0));
     }
 
+    @Test
+    public void deepGraph() throws InterruptedException {
+        ConflictResolver resolver = makeDefaultResolver();
+
+        // Foo -> N0 -> N1 -> ... -> Nn -> Baz 2.0
+        //  |---> Baz 1.0
+        int depth = 2000;
+        DependencyNode fooNode = makeDependencyNode("some-group", "foo", "1.0");
+        DependencyNode baz1Node = makeDependencyNode("some-group", "baz", "1.0");
+        DependencyNode baz2Node = makeDependencyNode("some-group", "baz", "2.0");
+        Map<DependencyNode, Object> conflictIds = new IdentityHashMap<>();
+        List<Object> sortedConflictIds = new ArrayList<>();
+        conflictIds.put(fooNode, "foo");
+        sortedConflictIds.add("foo");
+        DependencyNode parent = fooNode;
+        for (int i = 0; i < depth; i++) {
+            DependencyNode node = makeDependencyNode("some-group", "n" + i, "1.0");
+            parent.setChildren(mutableList(node));
+            conflictIds.put(node, "n" + i);
+            sortedConflictIds.add("n" + i);
+            parent = node;
+        }
+        parent.setChildren(mutableList(baz2Node));
+        fooNode.getChildren().add(baz1Node);
+        conflictIds.put(baz1Node, "baz");
+        conflictIds.put(baz2Node, "baz");
+        sortedConflictIds.add("baz");
+
+        // precomputed, as conflict marker and sorter are not in scope of this test
+        DependencyGraphTransformationContext context = TestUtils.newTransformationContext(TestUtils.newSession());
+        context.put(TransformationContextKeys.CONFLICT_IDS, conflictIds);
+        context.put(TransformationContextKeys.SORTED_CONFLICT_IDS, sortedConflictIds);
+        context.put(TransformationContextKeys.CYCLIC_CONFLICT_IDS, Collections.emptyList());
+
+        // walk graph on a thread with small stack, to make sure graph walk does not depend on stack depth
+        AtomicReference<Object> result = new AtomicReference<>();
+        Thread thread = new Thread(
+                null,
+                () -> {
+                    try {
+                        result.set(resolver.transformGraph(fooNode, context));
+                    } catch (Throwable e) {
+                        result.set(e);
+                    }
+                },
+                "deepGraph",
+                STACK_SIZE);
+        thread.start();
+        thread.join();
+
+        assertSame(fooNode, result.get());
+        assertEquals(2, fooNode.getChildren().size());
+        assertSame(baz1Node, fooNode.getChildren().get(1));
+        assertTrue(parent.getChildren().isEmpty());
+    }
+
     private static ConflictResolver makeDefaultResolver() {
         return new ConflictResolver(
                 new NearestVersionSelector(),
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.graph.transformer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryException;
+import org.eclipse.aether.collection.DependencyGraphTransformationContext;
+import org.eclipse.aether.collection.DependencyGraphTransformer;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.internal.test.util.DependencyGraphParser;
+import org.eclipse.aether.internal.test.util.TestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FusedDependencyGraphTransformerTest {
+    private static final String[] RESOURCES = {
+        "conflict-id-sorter/cycle.txt",
+        "conflict-id-sorter/cycles.txt",
+        "conflict-id-sorter/no-conflicts.txt",
+        "conflict-id-sorter/simple.txt",
+        "conflict-marker/relocation1.txt",
+        "conflict-marker/relocation2.txt",
+        "conflict-marker/relocation3.txt",
+        "conflict-marker/simple.txt",
+        "optionality-selector/conflict-direct-dep.txt",
+        "optionality-selector/conflict.txt",
+        "optionality-selector/derive.txt",
+        "scope-calculator/conflict-and-inheritance.txt",
+        "scope-calculator/conflicting-direct-nodes.txt",
+        "scope-calculator/cycle-a.txt",
+        "scope-calculator/cycle-b.txt",
+        "scope-calculator/cycle-c.txt",
+        "scope-calculator/cycle-d.txt",
+        "scope-calculator/direct-nodes-winning.txt",
+        "scope-calculator/direct-with-conflict-and-inheritance.txt",
+        "scope-calculator/dueling-scopes.txt",
+        "scope-calculator/inheritance.txt",
+        "scope-calculator/multiple-inheritance.txt",
+        "scope-calculator/system-1.txt",
+        "scope-calculator/system-2.txt",
+        "version-resolver/conflict-id-cycle.txt",
+        "version-resolver/cycle.txt",
+        "version-resolver/dead-conflict-group.txt",
+        "version-resolver/loop.txt",
+        "version-resolver/nearest-underneath-loser-a.txt",
+        "version-resolver/nearest-underneath-loser-b.txt",
+        "version-resolver/overlapping-cycles.txt",
+        "version-resolver/range-backtracking.txt",
+        "version-resolver/ranges.txt",
+        "version-resolver/scope-vs-version.txt",
+        "version-resolver/sibling-versions.txt",
+        "version-resolver/soft-vs-range.txt",
+        "version-resolver/unsolvable-with-cycle.txt",
+        "version-resolver/unsolvable.txt",
+        "version-resolver/verbose.txt",
+    };
+
+    private final DependencyGraphParser parser = new DependencyGraphParser("transformer/");
+
+    private static DependencyGraphTransformer newChain() {
+        return new ChainedDependencyGraphTransformer(
+                new ConflictResolver(
+                        new NearestVersionSelector(), new JavaScopeSelector(),
+                        new SimpleOptionalitySelector(), new JavaScopeDeriver()),
+                new JavaDependencyContextRefiner());
+    }
+
+    private static DependencyGraphTransformer newFused() {
+        return new FusedDependencyGraphTransformer(
+                new NearestVersionSelector(), new JavaScopeSelector(),
+                new SimpleOptionalitySelector(), new JavaScopeDeriver());
+    }
+
+    @Test
+    public void testSameResultsAsChain() throws Exception {
+        assertSameResultsAsChain(false);
+    }
+
+    @Test
+    public void testSameResultsAsChainVerbose() throws Exception {
+        assertSameResultsAsChain(true);
+    }
+
+    private void assertSameResultsAsChain(boolean verbose) throws Exception {
+        DefaultRepositorySystemSession session = TestUtils.newSession();
+        session.setConfigProperty(ConflictResolver.CONFIG_PROP_VERBOSE, verbose);
+        for (String resource : RESOURCES) {
+            String expected = transform(newChain(), parse(resource), session);
+            String actual = transform(newFused(), parse(resource), session);
+            assertEquals(resource, expected, actual);
+        }
+    }
+
+    @Test
+    public void testRelocationsMergeConflictGroups() throws Exception {
+        DependencyGraphTransformationContext context = TestUtils.newTransformationContext(TestUtils.newSession());
+        Map<String, Object> stats = new HashMap<>();
+        context.put(TransformationContextKeys.STATS, stats);
+
+        DependencyNode root = parse("conflict-marker/relocation3.txt");
+        newFused().transformGraph(root, context);
+
+        assertEquals(Boolean.TRUE, stats.get("FusedDependencyGraphTransformer.groupsMerged"));
+        Map<?, ?> conflictIds = (Map<?, ?>) context.get(TransformationContextKeys.CONFLICT_IDS);
+        assertEquals(3, conflictIds.size());
+        assertEquals(1, conflictIds.values().stream().distinct().count());
+    }
+
+    private DependencyNode parse(String resource) throws Exception {
+        // the scope placeholders present in some of the resources
+        parser.setSubstitutions("test", "compile");
+        DependencyNode root = parser.parseResource(resource);
+        Set<DependencyNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        markProject(root, visited);
+        return root;
+    }
+
+    private static void markProject(DependencyNode node, Set<DependencyNode> visited) {
+        if (visited.add(node)) {
+            node.setRequestContext("project");
+            for (DependencyNode child : node.getChildren()) {
+                markProject(child, visited);
+            }
+        }
+    }
+
+    private static String transform(
+            DependencyGraphTransformer transformer, DependencyNode root, DefaultRepositorySystemSession session) {
+        try {
+            root = transformer.transformGraph(root, TestUtils.newTransformationContext(session));
+        } catch (RepositoryException e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+        StringBuilder buffer = new StringBuilder(1024);
+        dump(root, "", Collections.newSetFromMap(new IdentityHashMap<>()), buffer);
+        return buffer.toString();
+    }
+
+    private static void dump(DependencyNode node, String indent, Set<DependencyNode> path, StringBuilder buffer) {
+        buffer.append(indent).append(node.getArtifact()).append(' ').append(node.getRequestContext());
+        Dependency dependency = node.getDependency();
+        if (dependency != null) {
+            buffer.append(' ').append(dependency.getScope()).append(' ').append(dependency.isOptional());
+        }
+        DependencyNode winner = (DependencyNode) node.getData().get(ConflictResolver.NODE_DATA_WINNER);
+        if (winner != null) {
+            buffer.append(" winner=").append(winner.getArtifact());
+        }
+        buffer.append('\n');
+        if (path.add(node)) {
+            for (DependencyNode child : node.getChildren()) {
+                dump(child, indent + "  ", path, buffer);
+            }
+            path.remove(node);
+        }
+    }
+}
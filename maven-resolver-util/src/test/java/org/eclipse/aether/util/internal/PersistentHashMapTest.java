@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.eclipse.aether.util.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PersistentHashMapTest {
+
+    /**
+     * A key with poor hash code, to exercise hash collisions.
+     */
+    private static final class CollidingKey {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CollidingKey && ((CollidingKey) obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 7;
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        PersistentHashMap<String, String> map = PersistentHashMap.empty();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.hashCode());
+        assertNull(map.get("a"));
+        assertEquals(new HashMap<>(), map);
+    }
+
+    @Test
+    public void testPlusLeavesOriginalUnchanged() {
+        PersistentHashMap<String, String> map1 =
+                PersistentHashMap.<String, String>empty().plus("a", "1");
+        PersistentHashMap<String, String> map2 = map1.plus("b", "2");
+        PersistentHashMap<String, String> map3 = map2.plus("a", "3");
+
+        assertEquals(1, map1.size());
+        assertEquals("1", map1.get("a"));
+        assertNull(map1.get("b"));
+        assertEquals(2, map2.size());
+        assertEquals("1", map2.get("a"));
+        assertEquals(2, map3.size());
+        assertEquals("3", map3.get("a"));
+        assertSame(map2, map2.plus("b", "2"));
+    }
+
+    @Test
+    public void testSameAsHashMap() {
+        Random random = new Random(1234);
+        Map<Object, Object> expected = new HashMap<>();
+        PersistentHashMap<Object, Object> actual = PersistentHashMap.empty();
+        for (int i = 0; i < 5000; i++) {
+            Object key = random.nextBoolean()
+                    ? Integer.valueOf(random.nextInt(2000))
+                    : new CollidingKey(random.nextInt(200));
+            Integer value = random.nextInt(10);
+            PersistentHashMap<Object, Object> previous = actual;
+            int previousSize = previous.size();
+            expected.put(key, value);
+            actual = actual.plus(key, value);
+            assertEquals(previousSize, previous.size());
+            assertEquals(expected.size(), actual.size());
+            assertEquals(expected.hashCode(), actual.hashCode());
+        }
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        for (Map.Entry<Object, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+        assertFalse(actual.containsKey(new CollidingKey(200)));
+        assertFalse(actual.containsKey(-1));
+    }
+
+    @Test
+    public void testEquals() {
+        PersistentHashMap<Object, Object> map1 = PersistentHashMap.empty();
+        PersistentHashMap<Object, Object> map2 = PersistentHashMap.empty();
+        for (int i = 0; i < 100; i++) {
+            map1 = map1.plus(i, "v" + i);
+            map2 = map2.plus(99 - i, "v" + (99 - i));
+        }
+        assertEquals(map1, map2);
+        assertEquals(map1.hashCode(), map2.hashCode());
+        assertNotEquals(map1, map2.plus(0, "x"));
+        assertNotEquals(map1, map2.plus(100, "v100"));
+    }
+
+    @Test
+    public void testEqualsInsertionOrderAndCollisions() {
+        List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            keys.add(i % 3 == 0 ? new CollidingKey(i) : Integer.valueOf(i * 31));
+        }
+        PersistentHashMap<Object, Object> base = PersistentHashMap.empty();
+        for (Object key : keys.subList(0, 100)) {
+            base = base.plus(key, key.toString());
+        }
+        Collections.shuffle(keys, new Random(42));
+        PersistentHashMap<Object, Object> map1 = base;
+        PersistentHashMap<Object, Object> map2 = PersistentHashMap.empty();
+        Map<Object, Object> expected = new HashMap<>();
+        for (Object key : keys) {
+            map1 = map1.plus(key, key.toString());
+            expected.put(key, key.toString());
+        }
+        Collections.reverse(keys);
+        for (Object key : keys) {
+            map2 = map2.plus(key, key.toString());
+        }
+
+        assertEquals(map1, map2);
+        assertEquals(map2, map1);
+        assertEquals(expected, map1);
+        assertEquals(map1, expected);
+
+        Object colliding = new CollidingKey(0);
+        assertNotEquals(map1, map2.plus(colliding, "x"));
+        assertNotEquals(map1.plus(colliding, "x"), map2);
+        expected.put(colliding, "x");
+        assertNotEquals(map1, expected);
+        assertNotEquals(map1, "not a map");
+    }
+}
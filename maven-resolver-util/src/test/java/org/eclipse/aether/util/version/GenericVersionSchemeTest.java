@@ -102,4 +102,61 @@ public class GenericVersionSchemeTest {
         assertEquals(c, c2);
         assertTrue(c.containsVersion(new GenericVersion("1.0")));
     }
+
+    @Test
+    public void testParseCache() throws InvalidVersionSpecificationException {
+        assertSame(scheme.parseVersion("2.15.2"), scheme.parseVersion("2.15.2"));
+        assertSame(scheme.parseVersionRange("[1,2)"), scheme.parseVersionRange("[1,2)"));
+        assertSame(scheme.parseVersionConstraint("[3,4),[5,)"), scheme.parseVersionConstraint("[3,4),[5,)"));
+        assertEquals(3, scheme.getCacheHits());
+
+        parseInvalid("[1,");
+        parseInvalid("[1,");
+        assertEquals(3, scheme.getCacheHits());
+    }
+
+    @Test
+    public void testParseCacheBounded() throws InvalidVersionSpecificationException {
+        scheme = new GenericVersionScheme(2);
+        GenericVersion version = scheme.parseVersion("1");
+        scheme.parseVersion("2");
+        assertSame(version, scheme.parseVersion("1"));
+        assertEquals(1, scheme.getCacheHits());
+
+        // a full cache replaces a single entry, never the one just added
+        version = scheme.parseVersion("3");
+        assertSame(version, scheme.parseVersion("3"));
+        assertEquals(2, scheme.getCacheHits());
+        assertEquals(3, scheme.getCacheMisses());
+
+        scheme = new GenericVersionScheme(0);
+        assertNotSame(scheme.parseVersion("1"), scheme.parseVersion("1"));
+        assertEquals(0, scheme.getCacheHits());
+        assertEquals(2, scheme.getCacheMisses());
+    }
+
+    @Test
+    public void testParseCacheGrowsUpToSize() throws InvalidVersionSpecificationException {
+        scheme = new GenericVersionScheme(100);
+        for (int i = 0; i < 100; i++) {
+            scheme.parseVersion(Integer.toString(i));
+        }
+        for (int i = 0; i < 100; i++) {
+            scheme.parseVersion(Integer.toString(i));
+        }
+        assertEquals(100, scheme.getCacheHits());
+        assertEquals(100, scheme.getCacheMisses());
+    }
+
+    @Test
+    public void testParseCacheWorkingSetLargerThanCache() throws InvalidVersionSpecificationException {
+        scheme = new GenericVersionScheme(2);
+        for (int i = 0; i < 100; i++) {
+            scheme.parseVersion("1");
+            scheme.parseVersion("2");
+            scheme.parseVersion("3");
+        }
+        assertEquals(300, scheme.getCacheHits() + scheme.getCacheMisses());
+        assertTrue(scheme.getCacheHits() > 0);
+    }
 }
@@ -130,6 +130,11 @@ public class GenericVersionTest extends AbstractVersionTest {
         assertOrder(X_GT_Y, "1.1234567890123456789012345678901", "1.123456789012345678901234567891");
     }
 
+    @Test
+    public void testIntegerVersusBigIntegerComponents() {
+        assertSequence("1.0", "1.2147483647", "1.2147483648", "1.12345678901", "1.12345678902", "1.max");
+    }
+
     @Test
     public void testTransitionFromDigitToLetterAndViceVersaIsEqualivantToDelimiter() {
         assertOrder(X_EQ_Y, "1alpha10", "1.alpha.10");
@@ -18,9 +18,13 @@
  */
 package org.eclipse.aether.util.version;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
 import org.eclipse.aether.version.VersionRange;
 import org.junit.Test;
 
@@ -86,4 +90,38 @@ public class UnionVersionRangeTest {
         range = UnionVersionRange.from(newRange("[1,2]"), newRange("[1,3)"));
         assertBound("3", false, range.getUpperBound());
     }
+
+    @Test
+    public void testContainsVersion() throws InvalidVersionSpecificationException {
+        GenericVersionScheme scheme = new GenericVersionScheme();
+        List<VersionRange> ranges = Arrays.asList(
+                newRange("[5,6)"), newRange("(1,2)"), newRange("[2,3]"), newRange("(3,4)"), newRange("[8,)"));
+        VersionRange union = UnionVersionRange.from(ranges);
+
+        for (String v : new String[] {"0", "1", "1.5", "2", "3", "3.5", "4", "5", "5.9", "6", "7", "8", "100"}) {
+            Version version = scheme.parseVersion(v);
+            boolean expected = ranges.stream().anyMatch(r -> r.containsVersion(version));
+            assertEquals(v, expected, union.containsVersion(version));
+        }
+
+        union = UnionVersionRange.from(newRange("(,1)"), newRange("(1,)"));
+        assertTrue(union.containsVersion(scheme.parseVersion("0")));
+        assertFalse(union.containsVersion(scheme.parseVersion("1")));
+        assertTrue(union.containsVersion(scheme.parseVersion("2")));
+    }
+
+    @Test
+    public void testFilterVersions() throws InvalidVersionSpecificationException {
+        GenericVersionScheme scheme = new GenericVersionScheme();
+        UnionVersionRange union = (UnionVersionRange)
+                UnionVersionRange.from(newRange("[4,5]"), newRange("(1,2]"), newRange("[2,3)"), newRange("[7]"));
+
+        List<Version> versions = new ArrayList<>();
+        for (String v : new String[] {"1", "1.5", "2", "2.5", "3", "4", "4.5", "5", "6", "7", "8"}) {
+            versions.add(scheme.parseVersion(v));
+        }
+
+        assertEquals(
+                "[1.5, 2, 2.5, 4, 4.5, 5, 7]", union.filterVersions(versions).toString());
+    }
 }